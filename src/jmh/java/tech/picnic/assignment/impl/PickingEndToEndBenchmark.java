@@ -0,0 +1,54 @@
+package tech.picnic.assignment.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.picnic.assignment.api.EventProcessorFactory;
+import tech.picnic.assignment.api.StreamProcessor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link StreamProcessor#process} over the whole synthetic input, with the configuration found through
+ * the usual system property, if any.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PickingEndToEndBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ProcessorState extends SyntheticInput {
+        EventProcessorFactory factory;
+        StreamProcessor processor;
+
+        @Override
+        void prepare() {
+            factory = new PickingEventProcessorFactory();
+            processor = factory.createProcessor(eventCount, Duration.ofHours(1));
+        }
+
+        @TearDown
+        public void closeProcessor() throws IOException {
+            processor.close();
+            factory.close();
+        }
+    }
+
+    @Benchmark
+    public void process(final ProcessorState state) throws IOException {
+        state.processor.process(state.newStream(), OutputStream.nullOutputStream());
+    }
+}
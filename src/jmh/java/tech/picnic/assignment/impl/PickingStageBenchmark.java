@@ -0,0 +1,148 @@
+package tech.picnic.assignment.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.picnic.assignment.dtos.Picker;
+import tech.picnic.assignment.models.Event;
+import tech.picnic.assignment.models.TemperatureZone;
+import tech.picnic.assignment.utils.JsonUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the individual stages of {@link PickingStreamProcessor}, each over the whole synthetic input:
+ * framing, decoding, filtering, grouping, sorting and serialization.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PickingStageBenchmark {
+
+    private static final Set<TemperatureZone> NO_ZONES = Collections.emptySet();
+    private static final Set<TemperatureZone> CHILLED = EnumSet.of(TemperatureZone.CHILLED);
+
+    /**
+     * Inputs of the later stages, prepared from the output of the earlier stages.
+     */
+    @State(Scope.Benchmark)
+    public static class StageInput extends SyntheticInput {
+        List<String> lines;
+        List<Event> events;
+        List<Picker> sortedPickers;
+        PickGrouping unsortedGrouping;
+
+        @Override
+        void prepare() throws IOException {
+            lines = new ArrayList<>(eventCount);
+            for (byte[] chunk : chunks) {
+                Collections.addAll(lines, new String(chunk, StandardCharsets.UTF_8).split("\n"));
+            }
+            events = decodeAll(chunks, CHILLED);
+            sortedPickers = new ArrayList<>();
+            for (Picker picker : group(events, new PickInterner(Integer.MAX_VALUE, Integer.MAX_VALUE))
+                    .toSortedPickers()) {
+                sortedPickers.add(new Picker(picker.getId(), picker.getName(), picker.getActiveSince(),
+                        new ArrayList<>(picker.getPickItemList())));
+            }
+        }
+
+        /**
+         * Sorting works in place, so every invocation needs a freshly grouped input.
+         */
+        @Setup(Level.Invocation)
+        public void prepareGrouping() throws IOException {
+            unsortedGrouping = group(events, new PickInterner(Integer.MAX_VALUE, Integer.MAX_VALUE));
+        }
+    }
+
+    @Benchmark
+    public void framing(final StageInput state, final Blackhole blackhole) throws IOException {
+        LineFramer framer = new LineFramer(state.newStream());
+        LineBatch batch = new LineBatch();
+        while (framer.next(Integer.MAX_VALUE, batch)) {
+            blackhole.consume(batch.getLength());
+        }
+    }
+
+    @Benchmark
+    public void deserializeLines(final StageInput state, final Blackhole blackhole) throws IOException {
+        for (String line : state.lines) {
+            blackhole.consume(JsonUtils.deserialize(line, Event.class));
+        }
+    }
+
+    @Benchmark
+    public List<Event> decodeStream(final StageInput state) throws IOException {
+        return decodeAll(state.chunks, NO_ZONES);
+    }
+
+    @Benchmark
+    public List<Event> decodeAndFilterStream(final StageInput state) throws IOException {
+        return decodeAll(state.chunks, CHILLED);
+    }
+
+    @Benchmark
+    public PickGrouping grouping(final StageInput state) throws IOException {
+        return group(state.events, new PickInterner(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Benchmark
+    public void sorting(final StageInput state, final Blackhole blackhole) {
+        for (Picker picker : state.unsortedGrouping.toSortedPickers()) {
+            blackhole.consume(picker.getPickItemList().size());
+        }
+    }
+
+    @Benchmark
+    public void serialization(final StageInput state) throws IOException {
+        new PickerResultWriter(64 * 1024, 1_000).write(state.sortedPickers, OutputStream.nullOutputStream());
+    }
+
+    private static List<Event> decodeAll(final List<byte[]> chunks,
+                                         final Set<TemperatureZone> excludedTemperatureZones) throws IOException {
+        List<Event> events = new ArrayList<>();
+        for (byte[] chunk : chunks) {
+            try (EventDecoder decoder = new EventDecoder(chunk, 0, chunk.length, excludedTemperatureZones)) {
+                while (decoder.hasNext()) {
+                    Event event = decoder.next();
+                    if (event != null) {
+                        events.add(event);
+                    }
+                }
+            }
+        }
+        return events;
+    }
+
+    private static PickGrouping group(final List<Event> events, final PickInterner interner) throws IOException {
+        PickGrouping grouping = new PickGrouping();
+        for (Event event : events) {
+            grouping.add(
+                    interner.canonicalPicker(event.getPicker()),
+                    interner.upperCaseName(event.getArticle()),
+                    event.getTimestamp(),
+                    event.getQuantity());
+        }
+        return grouping;
+    }
+}
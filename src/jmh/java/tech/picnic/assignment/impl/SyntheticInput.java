@@ -0,0 +1,94 @@
+package tech.picnic.assignment.impl;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tech.picnic.assignment.tools.PickEventGenerator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Benchmark state holding a synthetic, newline-delimited event stream in memory, produced by
+ * {@link PickEventGenerator} once per trial. The generator is seeded, so all benchmarks of a run see the same input
+ * for the same parameters.
+ *
+ * <p>The input is held in chunks of whole lines, as 10^7 events do not fit in a single array. Inputs of that size
+ * need a larger heap for the forked JVM, e.g. {@code -jvmArgsAppend -Xmx8g}.
+ */
+@State(Scope.Benchmark)
+public class SyntheticInput {
+
+    private static final int CHUNK_SIZE = 16 * 1024 * 1024;
+
+    @Param({"1000", "100000"})
+    public int eventCount;
+
+    @Param({"100"})
+    public int pickerCount;
+
+    @Param({"1000"})
+    public int articleCount;
+
+    @Param({"0.3"})
+    public double chilledRatio;
+
+    @Param({"0.05"})
+    public double outOfOrderRate;
+
+    List<byte[]> chunks;
+
+    @Setup
+    public final void setUp() throws IOException {
+        chunks = generateInput();
+        prepare();
+    }
+
+    /**
+     * Prepares further state from the generated input; runs once per trial, after the input has been generated.
+     */
+    void prepare() throws IOException {
+    }
+
+    /**
+     * @return InputStream - a new stream over the whole input.
+     */
+    InputStream newStream() {
+        List<InputStream> streams = new ArrayList<>(chunks.size());
+        for (byte[] chunk : chunks) {
+            streams.add(new ByteArrayInputStream(chunk));
+        }
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    private List<byte[]> generateInput() {
+        PickEventGenerator generator = new PickEventGenerator(PickEventGenerator.Settings.defaults()
+                .withEventCount(eventCount)
+                .withPickerCount(pickerCount)
+                .withArticleCount(articleCount)
+                .withChilledRatio(chilledRatio)
+                .withOutOfOrder(outOfOrderRate, 600_000)
+                .withSilences(0, 0, 1));
+        List<byte[]> generated = new ArrayList<>();
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream(CHUNK_SIZE + 1024);
+
+        while (generator.hasNext()) {
+            chunk.writeBytes(generator.next().getBytes(StandardCharsets.UTF_8));
+            chunk.write('\n');
+            if (chunk.size() >= CHUNK_SIZE) {
+                generated.add(chunk.toByteArray());
+                chunk.reset();
+            }
+        }
+        generated.add(chunk.toByteArray());
+        return generated;
+    }
+}
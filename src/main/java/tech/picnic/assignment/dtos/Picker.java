@@ -1,11 +1,11 @@
 package tech.picnic.assignment.dtos;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import tech.picnic.assignment.utils.IsoTimestamps;
 
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 
 /**
@@ -15,14 +15,22 @@ import java.util.List;
 public final class Picker {
     private final String id;
     private final String name;
-    private final Date activeSince;
-    private final List<PickItem> pickItemList = new ArrayList<>();
+    private final long activeSince;
+    private final List<PickItem> pickItemList;
 
 
-    public Picker(final String id, final String name, final Date activeSince) {
+    public Picker(final String id, final String name, final long activeSince) {
+        this(id, name, activeSince, new ArrayList<>());
+    }
+
+    /**
+     * Creates a picker whose picks are backed by the given list, e.g. a view over compact pick storage.
+     */
+    public Picker(final String id, final String name, final long activeSince, final List<PickItem> pickItemList) {
         this.id = id;
         this.name = name;
         this.activeSince = activeSince;
+        this.pickItemList = pickItemList;
     }
 
     @JsonIgnore
@@ -36,8 +44,8 @@ public final class Picker {
     }
 
     @JsonProperty("active_since")
-    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
-    public Date getActiveSince() {
+    @JsonSerialize(using = IsoTimestamps.Serializer.class)
+    public long getActiveSince() {
         return activeSince;
     }
 
@@ -48,10 +56,10 @@ public final class Picker {
 
     public static final class PickItem {
         private final String articleName;
-        private final Date timestamp;
+        private final long timestamp;
 
 
-        public PickItem(final String articleName, final Date timestamp) {
+        public PickItem(final String articleName, final long timestamp) {
             this.articleName = articleName;
             this.timestamp = timestamp;
         }
@@ -62,8 +70,8 @@ public final class Picker {
         }
 
         @JsonProperty("timestamp")
-        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
-        public Date getTimestamp() {
+        @JsonSerialize(using = IsoTimestamps.Serializer.class)
+        public long getTimestamp() {
             return timestamp;
         }
     }
@@ -0,0 +1,87 @@
+package tech.picnic.assignment.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import tech.picnic.assignment.utils.IsoTimestamps;
+
+/**
+ * DTO class of the summary output: the picks of a picker condensed to a few numbers.
+ */
+@JsonPropertyOrder({"picker_name", "active_since", "pick_count", "total_quantity", "first_pick_timestamp",
+        "last_pick_timestamp", "distinct_articles"})
+public final class PickerSummary {
+    private final String id;
+    private final String name;
+    private final long activeSince;
+    private final long pickCount;
+    private final long totalQuantity;
+    private final long firstPickTimestamp;
+    private final long lastPickTimestamp;
+    private final long distinctArticles;
+
+    public PickerSummary(final String id,
+                         final String name,
+                         final long activeSince,
+                         final long pickCount,
+                         final long totalQuantity,
+                         final long firstPickTimestamp,
+                         final long lastPickTimestamp,
+                         final long distinctArticles) {
+        this.id = id;
+        this.name = name;
+        this.activeSince = activeSince;
+        this.pickCount = pickCount;
+        this.totalQuantity = totalQuantity;
+        this.firstPickTimestamp = firstPickTimestamp;
+        this.lastPickTimestamp = lastPickTimestamp;
+        this.distinctArticles = distinctArticles;
+    }
+
+    @JsonIgnore
+    public String getId() {
+        return id;
+    }
+
+    @JsonProperty("picker_name")
+    public String getName() {
+        return name;
+    }
+
+    @JsonProperty("active_since")
+    @JsonSerialize(using = IsoTimestamps.Serializer.class)
+    public long getActiveSince() {
+        return activeSince;
+    }
+
+    @JsonProperty("pick_count")
+    public long getPickCount() {
+        return pickCount;
+    }
+
+    @JsonProperty("total_quantity")
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    @JsonProperty("first_pick_timestamp")
+    @JsonSerialize(using = IsoTimestamps.Serializer.class)
+    public long getFirstPickTimestamp() {
+        return firstPickTimestamp;
+    }
+
+    @JsonProperty("last_pick_timestamp")
+    @JsonSerialize(using = IsoTimestamps.Serializer.class)
+    public long getLastPickTimestamp() {
+        return lastPickTimestamp;
+    }
+
+    /**
+     * @return long - approximate number of distinct articles picked, within a few percent.
+     */
+    @JsonProperty("distinct_articles")
+    public long getDistinctArticles() {
+        return distinctArticles;
+    }
+}
@@ -0,0 +1,38 @@
+package tech.picnic.assignment.impl;
+
+import java.io.IOException;
+
+/**
+ * Cuts input into batches of complete lines for the decode workers, counting events on the way. Every non-blank line
+ * is one event; blank keep-alive lines are dropped.
+ */
+interface BatchFramer {
+
+    /**
+     * This function fills the batch with the next complete lines of the input.
+     *
+     * @param maxEventCount Maximum number of events in the batch.
+     * @param batch         Batch to fill with the lines.
+     * @return boolean - whether the batch was filled with at least one event; {@code false} at the end of input.
+     * @throws IOException
+     */
+    boolean next(int maxEventCount, LineBatch batch) throws IOException;
+
+    /**
+     * @return long - number of blank keep-alive lines dropped so far.
+     */
+    long getKeepAliveCount();
+
+    /**
+     * @return long - number of lines framed so far, keep-alive lines included.
+     */
+    long getLineCount();
+
+    /**
+     * Called once framing has stopped, from the framing thread.
+     *
+     * @throws IOException
+     */
+    default void finish() throws IOException {
+    }
+}
@@ -0,0 +1,65 @@
+package tech.picnic.assignment.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Statistics of a single process call. Every counter has a single writer at a time: the reading thread up to the
+ * end of the reading phase, then the calling thread. The fields are volatile, so the calling thread may record them
+ * while a reader abandoned at the deadline is still running; counts of such a reader may lag slightly behind. The
+ * end reason is only set by the calling thread, which learns it from the reader through the reader's future.
+ */
+final class BatchStats {
+
+    /**
+     * Why the reading phase of a batch ended.
+     */
+    enum EndReason {
+        MAX_EVENTS, MAX_TIME, END_OF_INPUT
+    }
+
+    volatile long linesRead;
+    volatile long keepAlives;
+    volatile long eventsAccepted;
+    volatile long eventsFiltered;
+    volatile long eventsDuplicated;
+    volatile boolean parseFailure;
+    volatile EndReason endReason;
+    private final AtomicLongArray stageNanos = new AtomicLongArray(ProcessorMetrics.Stage.values().length);
+
+    BatchStats() {
+        for (int i = 0; i < stageNanos.length(); i++) {
+            stageNanos.set(i, -1);
+        }
+    }
+
+    /**
+     * Adds time spent on the given stage.
+     */
+    void addNanos(final ProcessorMetrics.Stage stage, final long nanos) {
+        stageNanos.set(stage.ordinal(), Math.max(0, stageNanos.get(stage.ordinal())) + nanos);
+    }
+
+    /**
+     * Adds the counts and stage times of a reader of its own, e.g. of one of several sources. The end reason and
+     * parse failure are left to the caller.
+     */
+    void add(final BatchStats other) {
+        linesRead += other.linesRead;
+        keepAlives += other.keepAlives;
+        eventsAccepted += other.eventsAccepted;
+        eventsFiltered += other.eventsFiltered;
+        eventsDuplicated += other.eventsDuplicated;
+        for (ProcessorMetrics.Stage stage : ProcessorMetrics.Stage.values()) {
+            if (other.nanosOf(stage) >= 0) {
+                addNanos(stage, other.nanosOf(stage));
+            }
+        }
+    }
+
+    /**
+     * @return long - time spent on the given stage, or -1 if the call did not reach it.
+     */
+    long nanosOf(final ProcessorMetrics.Stage stage) {
+        return stageNanos.get(stage.ordinal());
+    }
+}
@@ -0,0 +1,54 @@
+package tech.picnic.assignment.impl;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe map with a size cap. Once the cap is exceeded, a slice of arbitrary entries is evicted, so the cache
+ * cannot grow without bound on long-lived factories while lookups stay lock-free.
+ */
+final class BoundedCache<K, V> {
+
+    private static final int EVICTION_FRACTION = 16;
+
+    private final Map<K, V> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    /**
+     * @param maxSize Maximum number of entries retained.
+     */
+    BoundedCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size should be positive.");
+        }
+        this.maxSize = maxSize;
+    }
+
+    V get(final K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * This function stores the given entry, evicting other entries if the cache has grown beyond its cap.
+     */
+    void put(final K key, final V value) {
+        if (entries.put(key, value) == null && entries.size() > maxSize) {
+            evict(key);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict(final K retainedKey) {
+        int target = maxSize - Math.max(1, maxSize / EVICTION_FRACTION);
+        Iterator<K> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            if (!keys.next().equals(retainedKey)) {
+                keys.remove();
+            }
+        }
+    }
+}
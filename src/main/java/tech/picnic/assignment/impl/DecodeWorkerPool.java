@@ -0,0 +1,43 @@
+package tech.picnic.assignment.impl;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fixed-size pool of daemon threads on which processors decode, filter and group framed input in parallel.
+ * Threads are started on first use and the pool is shut down when its owning factory is closed.
+ */
+final class DecodeWorkerPool implements AutoCloseable {
+
+    private final int size;
+    private final ExecutorService executor;
+
+    /**
+     * @param size Number of decode worker threads.
+     */
+    DecodeWorkerPool(final int size) {
+        this.size = size;
+        this.executor = Executors.newFixedThreadPool(size, new DaemonThreadFactory("picking-event-decoder-"));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * This function runs the given decode task on one of the pool's threads.
+     *
+     * @param task CPU-bound decode task.
+     * @return Future<T> - handle through which the task's result can be awaited.
+     */
+    <T> Future<T> submit(final Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,239 @@
+package tech.picnic.assignment.impl;
+
+import com.github.luben.zstd.ZstdInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Input stream which detects gzip or zstd compressed input from its magic bytes. Compressed input is inflated on a
+ * reader thread of its own, which hands the inflated bytes over in chunks, so inflating overlaps with framing and
+ * decoding. Other input is passed through as is: once the bytes read for detection have been handed back, reads go
+ * straight to the source.
+ * Detection happens on the first read, so on the thread reading the stream, never on the thread creating it. It only
+ * waits for more input while the bytes read so far start a magic number, so a short first line followed by an idle
+ * source is handed over as soon as it arrives.
+ * Closing the stream stops the inflating thread, but never closes the source.
+ */
+final class DecompressingInputStream extends InputStream {
+
+    private static final byte[] GZIP_MAGIC = {(byte) 0x1F, (byte) 0x8B};
+    private static final byte[] ZSTD_MAGIC = {(byte) 0x28, (byte) 0xB5, (byte) 0x2F, (byte) 0xFD};
+    private static final int MAGIC_LENGTH = ZSTD_MAGIC.length;
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int CHUNKS_IN_FLIGHT = 4;
+    private static final Chunk END_OF_INPUT = new Chunk(0);
+
+    private final InputStream source;
+    private final EventReaderPool readerPool;
+    private final byte[] head = new byte[MAGIC_LENGTH];
+    private final byte[] single = new byte[1];
+    private final BlockingQueue<Chunk> inflatedChunks = new ArrayBlockingQueue<>(CHUNKS_IN_FLIGHT);
+    private final Queue<Chunk> freeChunks = new ConcurrentLinkedQueue<>();
+    private int headLength;
+    private int headPosition;
+    private boolean detected;
+    private volatile Future<?> inflating;
+    private volatile IOException inflateFailure;
+    private Chunk current;
+    private int position;
+    private boolean ended;
+    private volatile boolean closed;
+
+    /**
+     * @param source     InputStream, possibly compressed.
+     * @param readerPool Pool to run the inflating thread on.
+     */
+    DecompressingInputStream(final InputStream source, final EventReaderPool readerPool) {
+        this.source = source;
+        this.readerPool = readerPool;
+    }
+
+    /**
+     * @param head   First bytes of an input.
+     * @param length Number of valid bytes in head.
+     * @return boolean - whether the input starts with the magic bytes of a gzip member or zstd frame.
+     */
+    static boolean isCompressed(final byte[] head, final int length) {
+        return isGzip(head, length) || isZstd(head, length);
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        if (length == 0) {
+            return 0;
+        }
+        if (!detected) {
+            detect();
+        }
+        if (Objects.isNull(inflating)) {
+            return readSource(bytes, offset, length);
+        }
+
+        while (Objects.isNull(current) || position == current.length) {
+            if (ended) {
+                return -1;
+            }
+            if (Objects.nonNull(current)) {
+                freeChunks.add(current);
+            }
+            current = takeInflated();
+            position = 0;
+            if (current == END_OF_INPUT) {
+                current = null;
+                ended = true;
+                if (Objects.nonNull(inflateFailure)) {
+                    throw new IOException("Exception Occurred while decompressing input", inflateFailure);
+                }
+            }
+        }
+        int count = Math.min(length, current.length - position);
+        System.arraycopy(current.bytes, position, bytes, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (Objects.nonNull(inflating)) {
+            inflating.cancel(true);
+        }
+    }
+
+    /**
+     * Reads the first bytes of the source, only for as long as they could still be the start of a magic number,
+     * and, if the source is compressed, starts inflating it.
+     */
+    private void detect() throws IOException {
+        for (int read; !isCompressed(head, headLength) && startsMagic(head, headLength)
+                && (read = source.read(head, headLength, MAGIC_LENGTH - headLength)) >= 0; ) {
+            headLength += read;
+        }
+        detected = true;
+
+        // The source is shielded, so closing the decompressor releases its native resources only.
+        InputStream shielded = new InputStream() {
+            private final byte[] single = new byte[1];
+
+            @Override
+            public int read() throws IOException {
+                return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+            }
+
+            @Override
+            public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+                return readSource(bytes, offset, length);
+            }
+        };
+        if (isGzip(head, headLength)) {
+            startInflating(new GZIPInputStream(shielded, CHUNK_SIZE));
+        } else if (isZstd(head, headLength)) {
+            startInflating(new ZstdInputStream(shielded));
+        }
+    }
+
+    /**
+     * Reads the bytes read for detection first, then the source itself.
+     */
+    private int readSource(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (headPosition == headLength) {
+            return source.read(bytes, offset, length);
+        }
+        int count = Math.min(length, headLength - headPosition);
+        System.arraycopy(head, headPosition, bytes, offset, count);
+        headPosition += count;
+        return count;
+    }
+
+    private void startInflating(final InputStream decompressor) throws InterruptedIOException {
+        if (closed) {
+            throw new InterruptedIOException("Stream closed while detecting compression");
+        }
+        inflating = readerPool.submit(() -> inflate(decompressor));
+        // A close racing with the submission may have missed the task, so it is cancelled here instead.
+        if (closed) {
+            inflating.cancel(true);
+        }
+    }
+
+    /**
+     * This function runs on a reader thread, handing chunks of inflated bytes over until the end of input, a
+     * failure, or until the stream is closed.
+     */
+    private Void inflate(final InputStream decompressor) throws InterruptedException {
+        try (InputStream input = decompressor) {
+            while (!closed) {
+                Chunk chunk = freeChunks.poll();
+                if (Objects.isNull(chunk)) {
+                    chunk = new Chunk(CHUNK_SIZE);
+                }
+                chunk.length = input.read(chunk.bytes, 0, chunk.bytes.length);
+                if (chunk.length < 0) {
+                    break;
+                }
+                inflatedChunks.put(chunk);
+            }
+        } catch (IOException e) {
+            inflateFailure = e;
+        }
+        inflatedChunks.put(END_OF_INPUT);
+        return null;
+    }
+
+    private Chunk takeInflated() throws InterruptedIOException {
+        try {
+            return inflatedChunks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for decompressed input");
+        }
+    }
+
+    private static boolean isGzip(final byte[] head, final int length) {
+        return length >= GZIP_MAGIC.length && startsWith(head, length, GZIP_MAGIC);
+    }
+
+    private static boolean isZstd(final byte[] head, final int length) {
+        return length >= ZSTD_MAGIC.length && startsWith(head, length, ZSTD_MAGIC);
+    }
+
+    /**
+     * @return boolean - whether the given bytes could still be the start of a magic number; {@code true} for none.
+     */
+    private static boolean startsMagic(final byte[] head, final int length) {
+        return startsWith(head, length, GZIP_MAGIC) || startsWith(head, length, ZSTD_MAGIC);
+    }
+
+    private static boolean startsWith(final byte[] head, final int length, final byte[] magic) {
+        for (int i = 0; i < Math.min(length, magic.length); i++) {
+            if (head[i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Chunk {
+        private final byte[] bytes;
+        private int length;
+
+        private Chunk(final int size) {
+            this.bytes = new byte[size];
+        }
+    }
+}
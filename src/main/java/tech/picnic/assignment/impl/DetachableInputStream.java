@@ -0,0 +1,125 @@
+package tech.picnic.assignment.impl;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * View of the source of a process call, through which its reader threads read it. At the deadline the call detaches
+ * the view: from its next read on, the view reports the end of input, so an abandoned reader which keeps receiving
+ * input, e.g. keep-alive lines, stops right away instead of consuming the source in the background.
+ *
+ * <p>A reader blocked inside a read of the source only stops once that read returns, as blocking reads of e.g.
+ * {@code System.in} cannot be interrupted; bytes it receives then are dropped. Until it has returned, the view is
+ * {@linkplain #isBusy busy}, so a later call on the same source waits for it rather than starting a second reader
+ * on the source. Closing the view never closes the source.
+ */
+final class DetachableInputStream extends FilterInputStream {
+
+    private volatile boolean detached;
+    private int readsInProgress;
+
+    /**
+     * @param source InputStream of the caller; left open.
+     */
+    DetachableInputStream(final InputStream source) {
+        super(source);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!enter()) {
+            return -1;
+        }
+        try {
+            int read = super.read();
+            return detached ? -1 : read;
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (!enter()) {
+            return -1;
+        }
+        try {
+            int read = super.read(bytes, offset, length);
+            return detached ? -1 : read;
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public long skip(final long count) throws IOException {
+        if (!enter()) {
+            return 0;
+        }
+        try {
+            return super.skip(count);
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        return detached ? 0 : super.available();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Reports the end of input to all later reads, and to reads in progress once they return.
+     */
+    void detach() {
+        detached = true;
+    }
+
+    /**
+     * @return boolean - whether a read of the source is in progress, e.g. by a reader abandoned while blocked.
+     */
+    synchronized boolean isBusy() {
+        return readsInProgress > 0;
+    }
+
+    /**
+     * This function waits until no read of the source is in progress any more, or until the timeout.
+     *
+     * @param timeoutNanos Maximum time to wait for, in nanoseconds.
+     * @return boolean - whether the view is idle.
+     * @throws InterruptedException
+     */
+    synchronized boolean awaitIdle(final long timeoutNanos) throws InterruptedException {
+        long start = System.nanoTime();
+        long remaining;
+        while (readsInProgress > 0 && (remaining = timeoutNanos - (System.nanoTime() - start)) > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return readsInProgress == 0;
+    }
+
+    private synchronized boolean enter() {
+        if (detached) {
+            return false;
+        }
+        readsInProgress++;
+        return true;
+    }
+
+    private synchronized void exit() {
+        if (--readsInProgress == 0) {
+            notifyAll();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package tech.picnic.assignment.impl;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct values added to it, in a fixed {@value #REGISTERS} bytes.
+ * The standard error of the estimate is about 1.04 / sqrt({@value #REGISTERS}), i.e. 3.3%; small counts are
+ * estimated by linear counting and are close to exact. Sketches merge losslessly, so partial sketches of the same
+ * picker can be combined.
+ */
+final class DistinctCountSketch {
+
+    private static final int PRECISION = 10;
+    static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers = new byte[REGISTERS];
+
+    /**
+     * @param hash Well-mixed 64-bit hash of the value, see {@link Hashing#hash64(String)}.
+     */
+    void add(final long hash) {
+        int register = (int) (hash >>> (Long.SIZE - PRECISION));
+        // Rank of the first set bit of the remaining bits, capped by a sentinel bit.
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        if (rank > registers[register]) {
+            registers[register] = rank;
+        }
+    }
+
+    /**
+     * Adds all values of the given sketch to this one.
+     */
+    void addAll(final DistinctCountSketch other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * @return long - estimated number of distinct values added.
+     */
+    long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte rank : registers) {
+            sum += Math.scalb(1.0, -rank);
+            if (rank == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    void reset() {
+        Arrays.fill(registers, (byte) 0);
+    }
+}
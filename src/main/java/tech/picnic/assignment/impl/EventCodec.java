@@ -0,0 +1,289 @@
+package tech.picnic.assignment.impl;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import tech.picnic.assignment.models.Article;
+import tech.picnic.assignment.models.Event;
+import tech.picnic.assignment.models.Picker;
+import tech.picnic.assignment.models.TemperatureZone;
+import tech.picnic.assignment.utils.IsoTimestamps;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Hand-written binding of {@link Event}s, with their {@link Picker} and {@link Article}, straight from parser tokens.
+ * It takes the place of Jackson's reflective binding of their {@code @JsonCreator} constructors, so decoding needs
+ * neither an {@code ObjectMapper} nor any introspection, which dominates short runs. The input accepted is the same:
+ * unknown members are skipped, scalars are taken as text where a string is expected, timestamps are ISO-8601 strings
+ * or epoch milliseconds, and a missing or null quantity is 0.
+ *
+ * <p>When temperature zones are excluded, an event is dropped as soon as the zone of its article has been read, and
+ * its remaining tokens are skipped. Invalid members are only reported once an event has been accepted, so events in
+ * an excluded zone are never rejected for them.
+ *
+ * <p>Ids and names of pickers and articles repeat across events, so they are looked up in a {@link TextTable} by the
+ * characters in the buffer of the parser, and only materialized the first time they are read. Event ids are unique,
+ * so they are copied as they are.
+ *
+ * <p>Not thread-safe; each decoder has a codec of its own.
+ */
+final class EventCodec {
+
+    private static final String ID = "id";
+    private static final String TIMESTAMP = "timestamp";
+    private static final String PICKER = "picker";
+    private static final String ARTICLE = "article";
+    private static final String QUANTITY = "quantity";
+    private static final String NAME = "name";
+    private static final String ACTIVE_SINCE = "active_since";
+    private static final String TEMPERATURE_ZONE = "temperature_zone";
+    private static final int TEXT_TABLE_SIZE = 4096;
+
+    private final Set<TemperatureZone> excludedTemperatureZones;
+    private final TextTable texts = new TextTable(TEXT_TABLE_SIZE);
+    // State of the event being read; members of the picker are bound last, as the event may still be excluded.
+    private String invalidMember;
+    private boolean excluded;
+    private boolean hasPicker;
+    private String pickerId;
+    private String pickerName;
+    private Long pickerActiveSince;
+
+    /**
+     * @param excludedTemperatureZones Zones whose events are skipped without being bound.
+     */
+    EventCodec(final Set<TemperatureZone> excludedTemperatureZones) {
+        this.excludedTemperatureZones = excludedTemperatureZones;
+    }
+
+    /**
+     * This function reads the event the parser points at, up to and including its end.
+     *
+     * @param parser Parser positioned on the first token of an event.
+     * @return Event - the bound event, or {@code null} if it was rejected because of its temperature zone.
+     * @throws IOException if the event is malformed or incomplete.
+     */
+    Event read(final JsonParser parser) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            throw new JsonParseException(parser, "Expected an event object, not " + parser.currentToken());
+        }
+        invalidMember = null;
+        excluded = false;
+        hasPicker = false;
+
+        String id = null;
+        Long timestamp = null;
+        Article article = null;
+        int quantity = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String member = parser.getCurrentName();
+            parser.nextToken();
+            switch (member) {
+                case ID:
+                    id = readString(parser, member);
+                    break;
+                case TIMESTAMP:
+                    timestamp = readTimestamp(parser, member);
+                    break;
+                case PICKER:
+                    readPicker(parser);
+                    break;
+                case ARTICLE:
+                    article = readArticle(parser);
+                    if (excluded) {
+                        skipRestOfObject(parser);
+                        return null;
+                    }
+                    break;
+                case QUANTITY:
+                    quantity = readInt(parser, member);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            throw new JsonParseException(parser, "Unexpected end of input inside an event");
+        }
+
+        if (Objects.nonNull(invalidMember)) {
+            throw new JsonParseException(parser, "Invalid value of " + invalidMember);
+        }
+        try {
+            Picker picker = hasPicker ? new Picker(pickerId, pickerName, pickerActiveSince) : null;
+            return new Event(id, timestamp, picker, article, quantity);
+        } catch (NullPointerException e) {
+            throw new JsonParseException(parser, "Incomplete event: " + e.getMessage(), e);
+        }
+    }
+
+    private void readPicker(final JsonParser parser) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            hasPicker = false;
+            invalidUnlessNull(parser, PICKER);
+            return;
+        }
+        hasPicker = true;
+        pickerId = null;
+        pickerName = null;
+        pickerActiveSince = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String member = parser.getCurrentName();
+            parser.nextToken();
+            switch (member) {
+                case ID:
+                    pickerId = readRepeatedString(parser, "picker.id");
+                    break;
+                case NAME:
+                    pickerName = readRepeatedString(parser, "picker.name");
+                    break;
+                case ACTIVE_SINCE:
+                    pickerActiveSince = readTimestamp(parser, "picker.active_since");
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * @return Article - the bound article; {@code null} if it is null, or if its zone is excluded, in which case the
+     * parser is left inside the event, right after the article.
+     */
+    private Article readArticle(final JsonParser parser) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            invalidUnlessNull(parser, ARTICLE);
+            return null;
+        }
+        String id = null;
+        String name = null;
+        TemperatureZone temperatureZone = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String member = parser.getCurrentName();
+            parser.nextToken();
+            switch (member) {
+                case ID:
+                    id = readRepeatedString(parser, "article.id");
+                    break;
+                case NAME:
+                    name = readRepeatedString(parser, "article.name");
+                    break;
+                case TEMPERATURE_ZONE:
+                    String zone = readString(parser, "article.temperature_zone");
+                    temperatureZone = Objects.isNull(zone) ? null : TemperatureZone.fromString(zone);
+                    if (Objects.isNull(temperatureZone)) {
+                        invalidUnlessNull(parser, "article.temperature_zone");
+                    } else if (excludedTemperatureZones.contains(temperatureZone)) {
+                        skipRestOfObject(parser);
+                        excluded = true;
+                        return null;
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        try {
+            return new Article(id, name, temperatureZone);
+        } catch (NullPointerException e) {
+            throw new JsonParseException(parser, "Incomplete article: " + e.getMessage(), e);
+        }
+    }
+
+    private String readString(final JsonParser parser, final String member) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        invalid(parser, member);
+        return null;
+    }
+
+    /**
+     * Reads a string which repeats across events, taking it from the text table rather than copying it anew.
+     */
+    private String readRepeatedString(final JsonParser parser, final String member) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return texts.get(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+        return readString(parser, member);
+    }
+
+    private Long readTimestamp(final JsonParser parser, final String member) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+                return parser.getLongValue();
+            case VALUE_STRING:
+                try {
+                    return IsoTimestamps.parse(
+                            parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                } catch (DateTimeException e) {
+                    invalid(parser, member + " (not an ISO-8601 date-time: " + e.getMessage() + ")");
+                    return null;
+                }
+            case VALUE_NULL:
+                return null;
+            default:
+                invalid(parser, member);
+                return null;
+        }
+    }
+
+    private int readInt(final JsonParser parser, final String member) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getValueAsInt();
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                try {
+                    return text.isEmpty() ? 0 : Integer.parseInt(text);
+                } catch (NumberFormatException e) {
+                    invalid(parser, member);
+                    return 0;
+                }
+            case VALUE_NULL:
+                return 0;
+            default:
+                invalid(parser, member);
+                return 0;
+        }
+    }
+
+    private void invalidUnlessNull(final JsonParser parser, final String member) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_NULL) {
+            invalid(parser, member);
+        }
+    }
+
+    /**
+     * Records the first invalid member of the event, skipping its value.
+     */
+    private void invalid(final JsonParser parser, final String member) throws IOException {
+        if (Objects.isNull(invalidMember)) {
+            invalidMember = member;
+        }
+        parser.skipChildren();
+    }
+
+    /**
+     * Skips all remaining members of the object the parser is currently in, up to and including its end.
+     */
+    private static void skipRestOfObject(final JsonParser parser) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_OBJECT) {
+            if (Objects.isNull(token)) {
+                throw new JsonParseException(parser, "Unexpected end of input inside an event");
+            }
+            parser.skipChildren();
+        }
+    }
+}
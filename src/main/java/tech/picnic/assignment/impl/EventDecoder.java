@@ -0,0 +1,96 @@
+package tech.picnic.assignment.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import tech.picnic.assignment.models.Event;
+import tech.picnic.assignment.models.TemperatureZone;
+import tech.picnic.assignment.utils.JsonUtils;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Streaming decoder which binds {@link Event}s straight from the raw bytes of an input stream, one at a time.
+ * No intermediate line strings are created; blank keep-alive lines are plain whitespace between root-level
+ * values and are skipped by the underlying parser.
+ *
+ * <p>Events are bound by an {@link EventCodec} while streaming their tokens. Events in an excluded temperature
+ * zone are skipped at token level as soon as their zone is known, and never bound into objects.
+ */
+final class EventDecoder implements Closeable {
+
+    private final JsonParser parser;
+    private final EventCodec codec;
+    private boolean pending;
+
+    /**
+     * Creates a decoder on top of the given stream. The stream itself is left open when the decoder is closed.
+     *
+     * @param source                   InputStream to decode events from.
+     * @param excludedTemperatureZones Zones whose events are skipped without being bound.
+     * @throws IOException
+     */
+    EventDecoder(final InputStream source, final Set<TemperatureZone> excludedTemperatureZones) throws IOException {
+        this(JsonUtils.createParser(source), excludedTemperatureZones);
+    }
+
+    /**
+     * Creates a decoder on top of the given range of UTF-8 bytes.
+     *
+     * @param bytes                    Buffer holding the events.
+     * @param offset                   Start of the events in the buffer.
+     * @param length                   Number of bytes to decode.
+     * @param excludedTemperatureZones Zones whose events are skipped without being bound.
+     * @throws IOException
+     */
+    EventDecoder(final byte[] bytes, final int offset, final int length,
+                 final Set<TemperatureZone> excludedTemperatureZones) throws IOException {
+        this(JsonUtils.createParser(bytes, offset, length), excludedTemperatureZones);
+    }
+
+    private EventDecoder(final JsonParser parser, final Set<TemperatureZone> excludedTemperatureZones) {
+        this.parser = parser;
+        this.codec = new EventCodec(excludedTemperatureZones);
+    }
+
+    /**
+     * This function blocks until the start of the next event or the end of the source has been read.
+     *
+     * @return boolean - whether another event is available.
+     * @throws IOException
+     */
+    boolean hasNext() throws IOException {
+        if (!pending) {
+            pending = parser.nextToken() != null;
+        }
+        return pending;
+    }
+
+    /**
+     * This function reads the remainder of the event announced by {@link #hasNext()}.
+     *
+     * @return Event - the decoded event, or {@code null} if it was rejected because of its temperature zone.
+     * @throws IOException
+     */
+    Event next() throws IOException {
+        if (!hasNext()) {
+            throw new EOFException("No more events available");
+        }
+        pending = false;
+        return codec.read(parser);
+    }
+
+    /**
+     * @return int - the 1-based input line the decoder has read up to, i.e. that of the last event read.
+     */
+    int lineNumber() {
+        return parser.getCurrentLocation().getLineNr();
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,38 @@
+package tech.picnic.assignment.impl;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Dedicated pool of daemon threads on which processors run their blocking reads.
+ * Keeping these reads off the common ForkJoin pool means a reader stuck on an idle stream never stalls unrelated
+ * parallel work. Idle threads are reused by later reads; the pool is shut down, interrupting any remaining
+ * readers, when its owning factory is closed.
+ *
+ * <p>Interrupting a reader does not end a read blocked on a source which ignores interrupts, such as
+ * {@code System.in}: its thread is only reclaimed once that read returns. Processors therefore read through a
+ * {@link DetachableInputStream}, and start no second reader on a source while an abandoned one is still blocked on
+ * it, so each such source holds at most one thread.
+ */
+final class EventReaderPool implements AutoCloseable {
+
+    private final ExecutorService executor =
+            Executors.newCachedThreadPool(new DaemonThreadFactory("picking-event-reader-"));
+
+    /**
+     * This function runs the given read task on one of the pool's threads.
+     *
+     * @param task Blocking read task.
+     * @return Future<T> - handle through which the task can be awaited or cancelled.
+     */
+    <T> Future<T> submit(final Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
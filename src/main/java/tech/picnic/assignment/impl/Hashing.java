@@ -0,0 +1,27 @@
+package tech.picnic.assignment.impl;
+
+/**
+ * Well-mixed 64-bit hashes of strings, for the probabilistic structures keyed on ids and names.
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the characters of the given string, finished with the MurmurHash3 mixer, so that all
+     * bits depend on all characters.
+     */
+    static long hash64(final String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
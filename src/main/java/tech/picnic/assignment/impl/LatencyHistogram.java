@@ -0,0 +1,65 @@
+package tech.picnic.assignment.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two buckets: bucket i counts durations in [2^(i-1), 2^i) nanoseconds.
+ * Recording is a few atomic increments; percentiles are reported as the upper bound of their bucket, so they are
+ * accurate to within a factor of two, which is enough to tell the stages of a batch apart.
+ */
+final class LatencyHistogram {
+
+    private static final int BUCKET_COUNT = Long.SIZE + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    void record(final long nanos) {
+        long duration = Math.max(0, nanos);
+        buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(duration));
+        totalNanos.add(duration);
+        maxNanos.accumulate(duration);
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    LatencySummary summarize() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long max = maxNanos.get();
+        return new LatencySummary(
+                total,
+                total == 0 ? 0 : totalNanos.sum() / total,
+                percentile(counts, total, 0.5, max),
+                percentile(counts, total, 0.99, max),
+                max);
+    }
+
+    /**
+     * @return long - upper bound in nanoseconds of the bucket holding the given percentile, capped at the maximum.
+     */
+    private static long percentile(final long[] counts, final long total, final double percentile, final long max) {
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return i == 0 ? 0 : Math.min(max, i == Long.SIZE ? Long.MAX_VALUE : (1L << i) - 1);
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,69 @@
+package tech.picnic.assignment.impl;
+
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Snapshot of a {@link LatencyHistogram}, as exposed over JMX. All durations are in nanoseconds.
+ */
+public final class LatencySummary {
+    private final long count;
+    private final long meanNanos;
+    private final long medianNanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+
+    LatencySummary(final long count, final long meanNanos, final long medianNanos, final long p99Nanos,
+                   final long maxNanos) {
+        this.count = count;
+        this.meanNanos = meanNanos;
+        this.medianNanos = medianNanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Reconstructs a summary from its JMX representation, so that MXBean proxies can return summaries.
+     *
+     * @param data Composite data with the attributes of a summary.
+     * @return LatencySummary
+     */
+    public static LatencySummary from(final CompositeData data) {
+        return new LatencySummary(
+                (Long) data.get("count"),
+                (Long) data.get("meanNanos"),
+                (Long) data.get("medianNanos"),
+                (Long) data.get("p99Nanos"),
+                (Long) data.get("maxNanos"));
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMeanNanos() {
+        return meanNanos;
+    }
+
+    public long getMedianNanos() {
+        return medianNanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySummary{" +
+                "count=" + count +
+                ", meanNanos=" + meanNanos +
+                ", medianNanos=" + medianNanos +
+                ", p99Nanos=" + p99Nanos +
+                ", maxNanos=" + maxNanos +
+                '}';
+    }
+}
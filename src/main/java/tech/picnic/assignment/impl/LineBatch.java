@@ -0,0 +1,64 @@
+package tech.picnic.assignment.impl;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Reusable batch of complete input lines, as cut from the input by a {@link LineFramer}. The buffer only grows, so
+ * once a batch has been refilled a few times it no longer allocates.
+ */
+final class LineBatch {
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int eventCount;
+
+    /**
+     * This function replaces the contents of the batch with a copy of the given lines.
+     *
+     * @param source     Buffer holding UTF-8 bytes of the lines, each terminated by a newline except possibly the
+     *                   last one.
+     * @param from       Start of the lines in the buffer.
+     * @param to         End of the lines in the buffer.
+     * @param eventCount Number of non-blank lines, i.e. events, in the range.
+     */
+    void fill(final byte[] source, final int from, final int to, final int eventCount) {
+        ensureCapacity(to - from, eventCount);
+        System.arraycopy(source, from, bytes, 0, length);
+    }
+
+    /**
+     * Same as {@link #fill(byte[], int, int, int)}, copying from a buffer such as a mapped file region instead. The
+     * position of the buffer is left untouched.
+     */
+    void fill(final ByteBuffer source, final int from, final int to, final int eventCount) {
+        ensureCapacity(to - from, eventCount);
+        ByteBuffer lines = source.duplicate();
+        lines.position(from);
+        lines.get(bytes, 0, length);
+    }
+
+    private void ensureCapacity(final int length, final int eventCount) {
+        if (length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(length, bytes.length * 2));
+        }
+        this.length = length;
+        this.eventCount = eventCount;
+    }
+
+    /**
+     * @return byte[] - the buffer; only its first {@link #getLength()} bytes belong to the batch.
+     */
+    byte[] getBytes() {
+        return bytes;
+    }
+
+    int getLength() {
+        return length;
+    }
+
+    int getEventCount() {
+        return eventCount;
+    }
+}
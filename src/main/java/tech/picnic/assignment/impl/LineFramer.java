@@ -0,0 +1,120 @@
+package tech.picnic.assignment.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Cuts an input stream into batches of complete lines, counting events on the way. Every non-blank line is one
+ * event; blank keep-alive lines are dropped. The bytes are never decoded into characters here.
+ */
+final class LineFramer implements BatchFramer {
+
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream source;
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int start;
+    private int end;
+    private boolean endOfInput;
+    private long keepAliveCount;
+    private long lineCount;
+
+    /**
+     * @param source InputStream to frame; it is never closed by the framer.
+     */
+    LineFramer(final InputStream source) {
+        this.source = source;
+    }
+
+    /**
+     * This function returns all complete lines currently buffered, reading from the source only if there are none.
+     * At the end of input, a final line without newline is complete as well.
+     *
+     * @param maxEventCount Maximum number of events in the batch.
+     * @param batch         Batch to fill with the lines.
+     * @return boolean - whether the batch was filled with at least one event; {@code false} at the end of input.
+     * @throws IOException
+     */
+    @Override
+    public boolean next(final int maxEventCount, final LineBatch batch) throws IOException {
+        while (true) {
+            int eventCount = 0;
+            int lineStart = start;
+            for (int i = start; i < end && eventCount < maxEventCount; i++) {
+                if (buffer[i] == '\n') {
+                    lineCount++;
+                    if (!isBlank(lineStart, i)) {
+                        eventCount++;
+                    } else {
+                        keepAliveCount++;
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            if (endOfInput && eventCount < maxEventCount && lineStart < end) {
+                lineCount++;
+                if (!isBlank(lineStart, end)) {
+                    eventCount++;
+                } else {
+                    keepAliveCount++;
+                }
+                lineStart = end;
+            }
+
+            int batchStart = start;
+            start = lineStart;
+            if (eventCount > 0) {
+                batch.fill(buffer, batchStart, lineStart, eventCount);
+                return true;
+            }
+            if (endOfInput) {
+                return false;
+            }
+            fill();
+        }
+    }
+
+    @Override
+    public long getKeepAliveCount() {
+        return keepAliveCount;
+    }
+
+    @Override
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Reads at least one byte, or detects the end of input, compacting or growing the buffer as needed.
+     */
+    private void fill() throws IOException {
+        if (start > 0) {
+            System.arraycopy(buffer, start, buffer, 0, end - start);
+            end -= start;
+            start = 0;
+        }
+        if (end == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        int read = source.read(buffer, end, buffer.length - end);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            end += read;
+        }
+    }
+
+    /**
+     * Same notion of blank as {@link String#trim()}: all bytes are control characters or spaces.
+     */
+    private boolean isBlank(final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if ((buffer[i] & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
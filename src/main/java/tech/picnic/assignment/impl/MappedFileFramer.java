@@ -0,0 +1,196 @@
+package tech.picnic.assignment.impl;
+
+import java.io.BufferedInputStream;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+/**
+ * Frames a regular file by memory-mapping it window by window, instead of copying it through read calls. Lines are
+ * cut exactly as {@link LineFramer} cuts them, so the same events are counted towards maxEvents. Once framing has
+ * stopped, the position of the file is set right after the last framed line, so the rest of the file can still be
+ * read from the stream. Compressed files are left to the streaming path.
+ *
+ * <p>Splitting the file into lines is single-threaded, on the framing thread; only the decoding of the framed batches
+ * is parallel. Batches are copies of their lines, so the framer drops its reference to a window as soon as all lines
+ * of it have been framed, and at most one window is reachable at a time; the garbage collector unmaps windows which
+ * are no longer reachable.
+ */
+final class MappedFileFramer implements BatchFramer {
+
+    private static final int INITIAL_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int windowSize;
+    private int start;
+    private long keepAliveCount;
+    private long lineCount;
+
+    private MappedFileFramer(final FileChannel channel, final long position, final long size, final int windowSize) {
+        this.channel = channel;
+        this.windowStart = position;
+        this.size = size;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * This function returns a framer mapping the file behind the given source, if the source reads a regular file.
+     * Besides file streams this covers {@link System#in} redirected from a file, as long as nothing has been read from
+     * it yet.
+     *
+     * @param source InputStream
+     * @return MappedFileFramer - framer of the rest of the file, or {@code null} for pipes, sockets and other streams,
+     * which have to be read as a stream.
+     */
+    static MappedFileFramer open(final InputStream source) {
+        return open(source, INITIAL_WINDOW_SIZE);
+    }
+
+    /**
+     * @param windowSize Initial size of the mapped windows, in bytes.
+     */
+    static MappedFileFramer open(final InputStream source, final int windowSize) {
+        boolean stdin = source == System.in && source instanceof BufferedInputStream;
+        if (!stdin && !(source instanceof FileInputStream)) {
+            return null;
+        }
+        FileChannel channel = stdin ? Stdin.CHANNEL : ((FileInputStream) source).getChannel();
+        try {
+            long position = channel.position();
+            long size = channel.size();
+            // Any read from System.in moves the position of its file, so at position 0 its buffer is still empty.
+            if (size <= position || (stdin && position != 0) || isCompressed(channel, position)) {
+                return null;
+            }
+            return new MappedFileFramer(channel, position, size, windowSize);
+        } catch (IOException e) {
+            // Pipes cannot seek.
+            return null;
+        }
+    }
+
+    /**
+     * Compressed files are inflated as a stream instead, see {@link DecompressingInputStream}.
+     */
+    private static boolean isCompressed(final FileChannel channel, final long position) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(4);
+        while (head.hasRemaining() && channel.read(head, position + head.position()) >= 0) {
+            // Positional reads leave the position of the channel untouched.
+        }
+        return DecompressingInputStream.isCompressed(head.array(), head.position());
+    }
+
+    @Override
+    public boolean next(final int maxEventCount, final LineBatch batch) throws IOException {
+        while (true) {
+            int limit = Objects.isNull(window) ? 0 : window.limit();
+            boolean lastWindow = windowStart + limit == size;
+            int eventCount = 0;
+            int lineStart = start;
+            for (int i = start; i < limit && eventCount < maxEventCount; i++) {
+                if (window.get(i) == '\n') {
+                    lineCount++;
+                    if (!isBlank(lineStart, i)) {
+                        eventCount++;
+                    } else {
+                        keepAliveCount++;
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            if (lastWindow && eventCount < maxEventCount && lineStart < limit) {
+                lineCount++;
+                if (!isBlank(lineStart, limit)) {
+                    eventCount++;
+                } else {
+                    keepAliveCount++;
+                }
+                lineStart = limit;
+            }
+
+            int batchStart = start;
+            start = lineStart;
+            if (eventCount > 0) {
+                batch.fill(window, batchStart, lineStart, eventCount);
+                if (start == limit) {
+                    releaseWindow();
+                }
+                return true;
+            }
+            if (lastWindow) {
+                releaseWindow();
+                return false;
+            }
+            slideWindow();
+        }
+    }
+
+    @Override
+    public long getKeepAliveCount() {
+        return keepAliveCount;
+    }
+
+    @Override
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Hands the unframed rest of the file back to the stream.
+     */
+    @Override
+    public void finish() throws IOException {
+        releaseWindow();
+        channel.position(windowStart);
+    }
+
+    /**
+     * Maps the next window, starting at the first unframed byte. A window without a single complete line is doubled.
+     */
+    private void slideWindow() throws IOException {
+        if (Objects.nonNull(window) && start == 0) {
+            if (windowSize == Integer.MAX_VALUE) {
+                throw new IOException("Line at offset " + windowStart + " exceeds " + windowSize + " bytes");
+            }
+            windowSize = (int) Math.min(Integer.MAX_VALUE, 2L * windowSize);
+        }
+        releaseWindow();
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(size - windowStart, windowSize));
+    }
+
+    /**
+     * Drops the reference to the current window, moving past its framed lines, so that the window can be unmapped.
+     */
+    private void releaseWindow() {
+        windowStart += start;
+        start = 0;
+        window = null;
+    }
+
+    /**
+     * Same notion of blank as {@link String#trim()}: all bytes are control characters or spaces.
+     */
+    private boolean isBlank(final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if ((window.get(i) & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Channel of the standard input, opened once, as the file descriptor is shared by the whole JVM.
+     */
+    private static final class Stdin {
+        private static final FileChannel CHANNEL = new FileInputStream(FileDescriptor.in).getChannel();
+    }
+}
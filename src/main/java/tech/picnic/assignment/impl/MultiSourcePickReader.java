@@ -0,0 +1,244 @@
+package tech.picnic.assignment.impl;
+
+import tech.picnic.assignment.models.Event;
+import tech.picnic.assignment.models.Picker;
+import tech.picnic.assignment.models.TemperatureZone;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reading stage over several sources at once. Every source is decoded by a reader thread of its own, and all
+ * readers add their picks to a single grouping, so reading takes as long as the slowest source rather than all
+ * sources in turn. maxEvents and maxTime apply to the sources combined: events count towards maxEvents as they are
+ * decoded, whichever source they come from, and all readers stop at the same deadline.
+ *
+ * <p>With several sources and a grouping held in memory, the readers add to a {@link StripedPickGrouping}, so they
+ * only contend on pickers of the same stripe; it is drained into the grouping once reading has ended. A grouping
+ * which may spill is filled through a single batch instead.
+ *
+ * <p>Picks of different sources interleave in whatever order their readers add them, so picks of a picker with equal
+ * timestamps from different sources may appear in either order; within a source, arrival order is kept.
+ */
+final class MultiSourcePickReader {
+
+    private static final Logger LOGGER = Logger.getLogger(MultiSourcePickReader.class.getName());
+
+    private final EventReaderPool readerPool;
+    private final PickInterner interner;
+
+    MultiSourcePickReader(final ProcessorContext context) {
+        this.readerPool = context.getReaderPool();
+        this.interner = context.getInterner();
+    }
+
+    /**
+     * This function reads up to maxEvents events from all sources combined, or as many as arrive before maxTime has
+     * elapsed. Once the limit of events has been reached, or a reader has failed, the remaining readers are
+     * abandoned right away; the batch is sealed, so they can no longer modify the grouping.
+     *
+     * @param sources                  InputStreams, each read on a thread of its own.
+     * @param excludedTemperatureZones Zones whose events are skipped while decoding.
+     * @param idFilter                 Filter of duplicate events across all sources, or {@code null} to keep them all.
+     * @param maxEvents                Maximum number of events to read from all sources.
+     * @param maxTimeNanos             Maximum time to read for, in nanoseconds.
+     * @param grouping                 Grouping to add the picks of the Filtered Events to.
+     * @param stats                    Statistics of the batch.
+     * @param timed                    Whether to time decoding and grouping.
+     * @return boolean - whether all readers are done; {@code false} if some were abandoned while still running.
+     * @throws IOException
+     */
+    boolean read(final List<? extends InputStream> sources,
+              final Set<TemperatureZone> excludedTemperatureZones,
+              final EventIdFilter idFilter,
+              final int maxEvents,
+              final long maxTimeNanos,
+              final PickGrouping grouping,
+              final BatchStats stats,
+              final boolean timed) throws IOException {
+        long startTime = System.nanoTime();
+        PickBatch batch = new PickBatch(grouping);
+        StripedPickGrouping striped = sources.size() > 1 && !grouping.canSpill()
+                ? new StripedPickGrouping(sources.size(), grouping.getMode())
+                : null;
+        // Events are claimed before they are added, and counted as handled once added, filtered or dropped.
+        AtomicInteger claimedCount = new AtomicInteger();
+        AtomicInteger handledCount = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger(sources.size());
+        // Released once all readers are done, the last claimable event has been handled, or a reader has failed.
+        CountDownLatch finished = new CountDownLatch(sources.isEmpty() ? 0 : 1);
+        // Failure of the first reader to fail, stored before the latch is released, so it cannot be missed.
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<BatchStats> readerStats = new ArrayList<>(sources.size());
+        List<Future<?>> readers = new ArrayList<>(sources.size());
+
+        try {
+            for (InputStream source : sources) {
+                BatchStats sourceStats = new BatchStats();
+                readerStats.add(sourceStats);
+                readers.add(readerPool.submit(() -> {
+                    boolean completed = false;
+                    try {
+                        readEvents(source, excludedTemperatureZones, idFilter, maxEvents, maxTimeNanos, batch,
+                                striped, claimedCount, handledCount, finished, startTime, sourceStats, timed);
+                        completed = true;
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        if (running.decrementAndGet() == 0 || !completed) {
+                            finished.countDown();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            boolean released =
+                    finished.await(Math.max(0, maxTimeNanos - (System.nanoTime() - startTime)), TimeUnit.NANOSECONDS);
+            if (Objects.nonNull(failure.get())) {
+                throw new ExecutionException(failure.get());
+            }
+            if (!released) {
+                stats.endReason = BatchStats.EndReason.MAX_TIME;
+                LOGGER.log(Level.FINE, "Maximum Time limit reached");
+            } else if (handledCount.get() >= maxEvents) {
+                stats.endReason = BatchStats.EndReason.MAX_EVENTS;
+            } else if (System.nanoTime() - startTime >= maxTimeNanos) {
+                stats.endReason = BatchStats.EndReason.MAX_TIME;
+            } else {
+                stats.endReason = BatchStats.EndReason.END_OF_INPUT;
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("Exception Occurred during async stream processing ", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for events");
+        } finally {
+            batch.seal();
+            if (Objects.nonNull(striped)) {
+                striped.seal();
+            }
+            for (Future<?> reader : readers) {
+                reader.cancel(true);
+            }
+            // Counters of a reader still running are safe to read, but may lag behind; see BatchStats.
+            for (BatchStats sourceStats : readerStats) {
+                stats.add(sourceStats);
+            }
+        }
+        // Only reached once reading has succeeded; all stripes have been sealed above, so no reader adds any more.
+        if (Objects.nonNull(striped)) {
+            striped.drainTo(grouping);
+        }
+        return running.get() == 0;
+    }
+
+    /**
+     * This function runs on a reader thread and adds picks of decoded events to the shared grouping until the events
+     * of all sources reach maxEvents, maxTime has been reached, the source is exhausted or the batch has been sealed.
+     * An event decoded once the limit has already been claimed by other readers is dropped. The reader which handles
+     * the last claimable event releases the calling thread, only once that event has been added, so no claimed pick
+     * is left out of the grouping by an early seal.
+     */
+    private void readEvents(final InputStream source,
+                            final Set<TemperatureZone> excludedTemperatureZones,
+                            final EventIdFilter idFilter,
+                            final int maxEvents,
+                            final long maxTimeNanos,
+                            final PickBatch batch,
+                            final StripedPickGrouping striped,
+                            final AtomicInteger claimedCount,
+                            final AtomicInteger handledCount,
+                            final CountDownLatch finished,
+                            final long startTime,
+                            final BatchStats stats,
+                            final boolean timed) throws IOException {
+        try (EventDecoder decoder = new EventDecoder(source, excludedTemperatureZones)) {
+            int line = 0;
+            // Here extra check for maxTime to avoid edge case e.g. maxTime = 0 millis
+            while (System.nanoTime() - startTime < maxTimeNanos && claimedCount.get() < maxEvents
+                    && decoder.hasNext()) {
+                long decodeStart = timed ? System.nanoTime() : 0;
+                Event event = decoder.next();
+                long groupStart = timed ? System.nanoTime() : 0;
+                if (timed) {
+                    stats.addNanos(ProcessorMetrics.Stage.DECODE, groupStart - decodeStart);
+                    // Keep-alive lines are whitespace to the decoder, so they show as skipped line numbers.
+                    int eventLine = decoder.lineNumber();
+                    stats.keepAlives += Math.max(0, eventLine - line - 1);
+                    stats.linesRead = eventLine;
+                    line = eventLine;
+                }
+                if (claimedCount.incrementAndGet() > maxEvents) {
+                    break;
+                }
+                if (!add(batch, striped, event, idFilter, stats)) {
+                    // Sealed: the batch is over, and the event is neither added nor counted as handled.
+                    break;
+                }
+                if (handledCount.incrementAndGet() == maxEvents) {
+                    finished.countDown();
+                }
+                if (timed) {
+                    stats.addNanos(ProcessorMetrics.Stage.GROUP, System.nanoTime() - groupStart);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the pick of the given event to the striped grouping if any, or else to the batch, unless it is excluded or
+     * a duplicate. The filter of duplicates is shared by all readers, so it is consulted under a lock of its own,
+     * and only while the batch is open.
+     *
+     * @param event Decoded event, or {@code null} for an excluded one.
+     * @return boolean - {@code false} once the batch has been sealed.
+     */
+    private boolean add(final PickBatch batch,
+                        final StripedPickGrouping striped,
+                        final Event event,
+                        final EventIdFilter idFilter,
+                        final BatchStats stats) throws IOException {
+        if (batch.isSealed()) {
+            return false;
+        }
+        boolean duplicate = false;
+        if (Objects.nonNull(event) && Objects.nonNull(idFilter)) {
+            synchronized (idFilter) {
+                duplicate = !idFilter.firstSeen(event.getId());
+            }
+        }
+        if (Objects.isNull(event) || duplicate) {
+            if (duplicate) {
+                stats.eventsDuplicated++;
+            } else {
+                stats.eventsFiltered++;
+            }
+            return true;
+        }
+
+        Picker picker = interner.canonicalPicker(event.getPicker());
+        String articleName = interner.upperCaseName(event.getArticle());
+        boolean added = Objects.nonNull(striped)
+                ? striped.add(picker, articleName, event.getTimestamp(), event.getQuantity())
+                : batch.add(picker, articleName, event.getTimestamp(), event.getQuantity());
+        if (added) {
+            stats.eventsAccepted++;
+        }
+        return added;
+    }
+}
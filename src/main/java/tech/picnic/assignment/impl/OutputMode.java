@@ -0,0 +1,16 @@
+package tech.picnic.assignment.impl;
+
+/**
+ * What a processor writes per picker, in the same picker order either way.
+ */
+public enum OutputMode {
+    /**
+     * Every pick of the picker, in chronological order.
+     */
+    PICKS,
+    /**
+     * A fixed-size summary of the picks of the picker: their count, total quantity, first and last timestamp and the
+     * approximate number of distinct articles.
+     */
+    SUMMARY
+}
@@ -0,0 +1,391 @@
+package tech.picnic.assignment.impl;
+
+import tech.picnic.assignment.models.Event;
+import tech.picnic.assignment.models.Picker;
+import tech.picnic.assignment.models.TemperatureZone;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Parallel variant of the reading stage. One framing thread cuts the input into line batches, counting events
+ * exactly in arrival order; a pool of workers decodes, filters and groups each batch into a partial grouping.
+ * The calling thread merges the partial groupings in batch order, so the result is identical to decoding the
+ * input on a single thread. Regular files are framed from a memory mapping rather than read as a stream.
+ * The numbers of a summary do not depend on the order of the picks, so in summary mode without a filter of
+ * duplicates the workers add to a {@link StripedPickGrouping} concurrently instead, leaving the calling thread
+ * nothing to merge. The picker metadata of such a summary then comes from whichever pick of the picker a worker added
+ * first: for input in which the name or active_since of a picker changes, the summary is nondeterministic, unlike
+ * the picks of the sequential path, which keep the metadata of the first pick in the input.
+ */
+final class ParallelPickReader {
+
+    private static final int IN_FLIGHT_BATCHES_PER_WORKER = 4;
+    // Bounds the decode work still pending at the deadline to the in-flight batches of this many events each.
+    private static final int MAX_EVENTS_PER_BATCH = 512;
+    private static final Future<DecodedBatch> END_OF_BATCHES = CompletableFuture.completedFuture(null);
+    private static final Logger LOGGER = Logger.getLogger(ParallelPickReader.class.getName());
+
+    private final EventReaderPool readerPool;
+    private final DecodeWorkerPool decodePool;
+    private final PickInterner interner;
+
+    ParallelPickReader(final ProcessorContext context) {
+        this.readerPool = context.getReaderPool();
+        this.decodePool = context.getDecodePool();
+        this.interner = context.getInterner();
+    }
+
+    /**
+     * This function reads up to maxEvents events from the source, or as many as arrive before maxTime has elapsed.
+     * Only batches framed before the deadline are part of the result.
+     *
+     * @param source                   InputStream
+     * @param excludedTemperatureZones Zones whose events are skipped while decoding.
+     * @param idFilter                 Filter of duplicate events, or {@code null} to keep them all.
+     * @param maxEvents                Maximum number of events to read.
+     * @param maxTimeNanos             Maximum time to read for, in nanoseconds.
+     * @param grouping                 Grouping to add the picks of the Filtered Events to.
+     * @param stats                    Statistics of the batch.
+     * @param timed                    Whether to time decoding and grouping.
+     * @throws IOException
+     */
+    void read(final InputStream source,
+              final Set<TemperatureZone> excludedTemperatureZones,
+              final EventIdFilter idFilter,
+              final int maxEvents,
+              final long maxTimeNanos,
+              final PickGrouping grouping,
+              final BatchStats stats,
+              final boolean timed) throws IOException {
+        read(new LineFramer(source), excludedTemperatureZones, idFilter, maxEvents, maxTimeNanos, grouping, stats,
+                timed);
+    }
+
+    /**
+     * Same as {@link #read(InputStream, Set, EventIdFilter, int, long, PickGrouping, BatchStats, boolean)}, reading the batches cut
+     * by the given framer.
+     */
+    void read(final BatchFramer framer,
+              final Set<TemperatureZone> excludedTemperatureZones,
+              final EventIdFilter idFilter,
+              final int maxEvents,
+              final long maxTimeNanos,
+              final PickGrouping grouping,
+              final BatchStats stats,
+              final boolean timed) throws IOException {
+        long startTime = System.nanoTime();
+        BatchHandoff handoff = new BatchHandoff(decodePool.size() * IN_FLIGHT_BATCHES_PER_WORKER);
+        // The numbers of summaries do not depend on the order of the picks, so the workers add them to a shared
+        // striped grouping instead of handing partial groupings to the merging thread; see the class doc for the
+        // picker metadata.
+        StripedPickGrouping striped = Objects.isNull(idFilter) && grouping.getMode() == OutputMode.SUMMARY
+                && decodePool.size() > 1 ? new StripedPickGrouping(decodePool.size(), OutputMode.SUMMARY) : null;
+        Future<BatchStats.EndReason> framing = readerPool.submit(() ->
+                frame(framer, excludedTemperatureZones, Objects.nonNull(idFilter), grouping.getMode(), striped,
+                        maxEvents, maxTimeNanos, startTime, handoff, stats, timed));
+
+        try {
+            Future<DecodedBatch> partial;
+            while ((partial = handoff.poll(maxTimeNanos - (System.nanoTime() - startTime))) != END_OF_BATCHES) {
+                if (Objects.isNull(partial)) {
+                    stats.endReason = BatchStats.EndReason.MAX_TIME;
+                    LOGGER.log(Level.FINE, "Maximum Time limit reached");
+                    break;
+                }
+                merge(partial.get(), grouping, idFilter, stats, timed);
+            }
+            for (Future<DecodedBatch> sealedPartial : handoff.seal()) {
+                merge(sealedPartial.get(), grouping, idFilter, stats, timed);
+            }
+            if (partial == END_OF_BATCHES) {
+                stats.endReason = framing.get();
+            }
+            // All batches framed before the deadline have been decoded by now.
+            if (Objects.nonNull(striped)) {
+                striped.seal();
+                striped.drainTo(grouping);
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("Exception Occurred during async stream processing ", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for events");
+        } finally {
+            handoff.seal();
+            framing.cancel(true);
+        }
+    }
+
+    /**
+     * Adds the picks of a decoded batch to the grouping. With a filter of duplicates, the workers leave the accepted
+     * events ungrouped, so they are filtered and grouped here, in arrival order.
+     */
+    private void merge(final DecodedBatch decoded,
+                       final PickGrouping grouping,
+                       final EventIdFilter idFilter,
+                       final BatchStats stats,
+                       final boolean timed) throws IOException {
+        long mergeStart = timed ? System.nanoTime() : 0;
+        if (Objects.nonNull(decoded.grouping)) {
+            grouping.addAll(decoded.grouping);
+        } else if (Objects.nonNull(idFilter)) {
+            for (Event event : decoded.events) {
+                if (idFilter.firstSeen(event.getId())) {
+                    grouping.add(
+                            interner.canonicalPicker(event.getPicker()),
+                            interner.upperCaseName(event.getArticle()),
+                            event.getTimestamp(),
+                            event.getQuantity());
+                    decoded.eventsAccepted++;
+                } else {
+                    decoded.eventsDuplicated++;
+                }
+            }
+        }
+        if (timed) {
+            stats.addNanos(ProcessorMetrics.Stage.GROUP, System.nanoTime() - mergeStart + decoded.groupNanos);
+            stats.addNanos(ProcessorMetrics.Stage.DECODE, decoded.decodeNanos);
+        }
+        stats.eventsAccepted += decoded.eventsAccepted;
+        stats.eventsFiltered += decoded.eventsFiltered;
+        stats.eventsDuplicated += decoded.eventsDuplicated;
+    }
+
+    /**
+     * This function runs on a reader thread, framing line batches and handing them to the decode workers until
+     * maxEvents or maxTime has been reached, the source is exhausted or the handoff has been sealed.
+     *
+     * @return EndReason - why framing ended; published to the calling thread through the future of the framing.
+     */
+    private BatchStats.EndReason frame(final BatchFramer framer,
+                                       final Set<TemperatureZone> excludedTemperatureZones,
+                                       final boolean deduplicate,
+                                       final OutputMode mode,
+                                       final StripedPickGrouping striped,
+                                       final int maxEvents,
+                                       final long maxTimeNanos,
+                                       final long startTime,
+                                       final BatchHandoff handoff,
+                                       final BatchStats stats,
+                                       final boolean timed) throws IOException, InterruptedException {
+        // Batches are returned here once decoded; the handoff bounds how many are in flight, and so allocated.
+        Queue<LineBatch> freeBatches = new ConcurrentLinkedQueue<>();
+        try {
+            int eventCount = 0;
+            boolean framed = true;
+            // Here extra check for maxTime to avoid edge case e.g. maxTime = 0 millis
+            while (System.nanoTime() - startTime < maxTimeNanos && eventCount < maxEvents) {
+                LineBatch batch = freeBatches.poll();
+                if (Objects.isNull(batch)) {
+                    batch = new LineBatch();
+                }
+                if (!(framed = framer.next(Math.min(maxEvents - eventCount, MAX_EVENTS_PER_BATCH), batch))) {
+                    break;
+                }
+                eventCount += batch.getEventCount();
+                LineBatch next = batch;
+                if (!handoff.offer(() -> decodePool.submit(() ->
+                        decode(next, excludedTemperatureZones, deduplicate, mode, striped, freeBatches,
+                                timed)))) {
+                    break;
+                }
+            }
+            return eventCount >= maxEvents ? BatchStats.EndReason.MAX_EVENTS
+                    : !framed ? BatchStats.EndReason.END_OF_INPUT
+                    : BatchStats.EndReason.MAX_TIME;
+        } finally {
+            stats.linesRead = framer.getLineCount();
+            stats.keepAlives = framer.getKeepAliveCount();
+            handoff.end();
+            framer.finish();
+        }
+    }
+
+    /**
+     * This function runs on a decode worker and groups the accepted events of a single line batch.
+     */
+    private DecodedBatch decode(final LineBatch batch,
+                                final Set<TemperatureZone> excludedTemperatureZones,
+                                final boolean deduplicate,
+                                final OutputMode mode,
+                                final StripedPickGrouping striped,
+                                final Queue<LineBatch> freeBatches,
+                                final boolean timed) throws IOException {
+        DecodedBatch decoded = new DecodedBatch(!deduplicate && Objects.isNull(striped) ? mode : null);
+
+        try (EventDecoder decoder = new EventDecoder(
+                batch.getBytes(), 0, batch.getLength(), excludedTemperatureZones)) {
+            long decodeStart = timed ? System.nanoTime() : 0;
+            while (decoder.hasNext()) {
+                Event event = decoder.next();
+                if (Objects.isNull(event)) {
+                    decoded.eventsFiltered++;
+                    continue;
+                }
+                if (deduplicate) {
+                    decoded.events.add(event);
+                    continue;
+                }
+                long groupStart = timed ? System.nanoTime() : 0;
+                Picker picker = interner.canonicalPicker(event.getPicker());
+                String articleName = interner.upperCaseName(event.getArticle());
+                if (Objects.isNull(striped)) {
+                    decoded.grouping.add(picker, articleName, event.getTimestamp(), event.getQuantity());
+                    decoded.eventsAccepted++;
+                } else if (striped.add(picker, articleName, event.getTimestamp(), event.getQuantity())) {
+                    decoded.eventsAccepted++;
+                }
+                if (timed) {
+                    decoded.groupNanos += System.nanoTime() - groupStart;
+                }
+            }
+            if (timed) {
+                decoded.decodeNanos = System.nanoTime() - decodeStart - decoded.groupNanos;
+            }
+        } finally {
+            freeBatches.add(batch);
+        }
+        return decoded;
+    }
+
+    /**
+     * Partial grouping of a single line batch, or its accepted events when they still have to be filtered, with
+     * the statistics of decoding it. Without either, the picks went to a striped grouping.
+     */
+    private static final class DecodedBatch {
+        private final PickGrouping grouping;
+        private final List<Event> events = new ArrayList<>();
+        private long eventsAccepted;
+        private long eventsFiltered;
+        private long eventsDuplicated;
+        private long decodeNanos;
+        private long groupNanos;
+
+        /**
+         * @param mode Mode of the partial grouping, or {@code null} if the picks are not grouped per batch.
+         */
+        private DecodedBatch(final OutputMode mode) {
+            this.grouping = Objects.isNull(mode) ? null : new PickGrouping(null, mode);
+        }
+    }
+
+    /**
+     * Ordered, bounded handoff of decode results from the framing thread to the merging thread: a ring of slots
+     * allocated once per read. Once sealed, the framing thread can no longer add batches, so the merging thread
+     * works on a consistent set of batches.
+     */
+    private static final class BatchHandoff {
+        private final Future<?>[] slots;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private int head;
+        private int count;
+        private boolean ended;
+        private boolean sealed;
+
+        private BatchHandoff(final int capacity) {
+            this.slots = new Future<?>[capacity];
+        }
+
+        /**
+         * Waits for a free slot, then submits a decode task unless the handoff has been sealed.
+         */
+        private boolean offer(final Supplier<Future<DecodedBatch>> submission) throws InterruptedException {
+            lock.lock();
+            try {
+                while (count == slots.length && !sealed) {
+                    notFull.await();
+                }
+                if (sealed) {
+                    return false;
+                }
+                slots[(head + count) % slots.length] = submission.get();
+                count++;
+                notEmpty.signal();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void end() {
+            lock.lock();
+            try {
+                ended = true;
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return Future<DecodedBatch> - the next partial in batch order, {@link #END_OF_BATCHES} once all have been
+         * taken, or {@code null} if none arrived in time.
+         */
+        private Future<DecodedBatch> poll(final long timeoutNanos) throws InterruptedException {
+            lock.lock();
+            try {
+                long remaining = timeoutNanos;
+                while (count == 0 && !ended) {
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    remaining = notEmpty.awaitNanos(remaining);
+                }
+                if (count == 0) {
+                    return END_OF_BATCHES;
+                }
+                Future<DecodedBatch> partial = take();
+                notFull.signal();
+                return partial;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return List<Future<DecodedBatch>> - the partials handed off but not yet polled, in batch order.
+         */
+        private List<Future<DecodedBatch>> seal() {
+            lock.lock();
+            try {
+                sealed = true;
+                List<Future<DecodedBatch>> remaining = new ArrayList<>(count);
+                while (count > 0) {
+                    remaining.add(take());
+                }
+                notFull.signalAll();
+                return remaining;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Future<DecodedBatch> take() {
+            Future<DecodedBatch> partial = (Future<DecodedBatch>) slots[head];
+            slots[head] = null;
+            head = (head + 1) % slots.length;
+            count--;
+            return partial;
+        }
+    }
+}
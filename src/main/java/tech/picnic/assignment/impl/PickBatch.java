@@ -0,0 +1,49 @@
+package tech.picnic.assignment.impl;
+
+import tech.picnic.assignment.models.Picker;
+
+import java.io.IOException;
+
+/**
+ * Grouped batch of picks handed off from a reader thread to the processing thread.
+ * Once the batch has been sealed, the reader can no longer add to it, so the processing thread always works on a
+ * consistent snapshot even if the reader is still blocked on its input.
+ */
+final class PickBatch {
+
+    private final PickGrouping grouping;
+    private boolean sealed;
+
+    /**
+     * @param grouping Grouping to add the picks to.
+     */
+    PickBatch(final PickGrouping grouping) {
+        this.grouping = grouping;
+    }
+
+    /**
+     * @return boolean - whether the pick was added; {@code false} once the batch has been sealed.
+     */
+    synchronized boolean add(final Picker picker, final String articleName, final long timestamp,
+                             final int quantity) throws IOException {
+        if (sealed) {
+            return false;
+        }
+        grouping.add(picker, articleName, timestamp, quantity);
+        return true;
+    }
+
+    synchronized boolean isSealed() {
+        return sealed;
+    }
+
+    /**
+     * This function closes the batch for further additions and returns its contents.
+     *
+     * @return PickGrouping - the picks added before sealing.
+     */
+    synchronized PickGrouping seal() {
+        sealed = true;
+        return grouping;
+    }
+}
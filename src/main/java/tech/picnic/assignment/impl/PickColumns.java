@@ -0,0 +1,222 @@
+package tech.picnic.assignment.impl;
+
+import tech.picnic.assignment.dtos.Picker;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Columnar storage of the picks of a single picker: a growable {@code long[]} of timestamps next to an
+ * {@code int[]} of article codes. Compared to a list of pick objects this saves the object headers and pointers,
+ * which take more heap than the data itself. {@link Picker.PickItem} views are only created on read.
+ *
+ * <p>Picks are kept ordered as they arrive, exploiting that they mostly arrive in chronological order: in-order
+ * picks are appended, and slightly late picks are inserted in place within a small window. Only once a pick
+ * arrives too late for that window, it and all later picks go to an unsorted tail, which {@link #sort()} sorts
+ * and merges into the sorted head.
+ */
+final class PickColumns {
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    private static final int MAX_INSERTION_DISTANCE = 256;
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private int[] articleCodes = new int[INITIAL_CAPACITY];
+    private int size;
+    private int sortedSize;
+
+    /**
+     * @param timestamp   Timestamp of the pick, in epoch milliseconds.
+     * @param articleCode Code of the picked article in the batch's article dictionary.
+     */
+    void add(final long timestamp, final int articleCode) {
+        if (size == timestamps.length) {
+            int capacity = size + (size >> 1);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            articleCodes = Arrays.copyOf(articleCodes, capacity);
+        }
+
+        int position = sortedSize == size ? sortedPosition(timestamp) : -1;
+        if (position < 0) {
+            // Too late to insert in place, or the tail has already started: append to the unsorted tail.
+            position = size;
+        } else {
+            System.arraycopy(timestamps, position, timestamps, position + 1, size - position);
+            System.arraycopy(articleCodes, position, articleCodes, position + 1, size - position);
+            sortedSize++;
+        }
+        timestamps[position] = timestamp;
+        articleCodes[position] = articleCode;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes all picks, keeping the storage they took for later picks.
+     */
+    void reset() {
+        size = 0;
+        sortedSize = 0;
+    }
+
+    /**
+     * Removes all picks, releasing the storage they took.
+     */
+    void clear() {
+        timestamps = new long[INITIAL_CAPACITY];
+        articleCodes = new int[INITIAL_CAPACITY];
+        size = 0;
+        sortedSize = 0;
+    }
+
+    long timestampAt(final int index) {
+        return timestamps[index];
+    }
+
+    int articleCodeAt(final int index) {
+        return articleCodes[index];
+    }
+
+    /**
+     * This function completes the chronological (ascending) order of the picks. Picks with equal timestamps keep
+     * their arrival order. Apart from the unsorted tail, if any, this is a no-op.
+     */
+    void sort() {
+        if (sortedSize == size) {
+            return;
+        }
+
+        int tailSize = size - sortedSize;
+        long[] tailTimestamps = Arrays.copyOfRange(timestamps, sortedSize, size);
+        int[] tailArticleCodes = Arrays.copyOfRange(articleCodes, sortedSize, size);
+        mergeSort(tailTimestamps, tailArticleCodes, tailTimestamps.clone(), tailArticleCodes.clone(), 0, tailSize);
+
+        // Merge from the back, so the sorted head can be merged in place. Ties go to the tail, which arrived later.
+        int head = sortedSize - 1;
+        int tail = tailSize - 1;
+        for (int i = size - 1; tail >= 0; i--) {
+            if (head >= 0 && timestamps[head] > tailTimestamps[tail]) {
+                timestamps[i] = timestamps[head];
+                articleCodes[i] = articleCodes[head--];
+            } else {
+                timestamps[i] = tailTimestamps[tail];
+                articleCodes[i] = tailArticleCodes[tail--];
+            }
+        }
+        sortedSize = size;
+    }
+
+    /**
+     * This function returns a read-only list view creating a {@link Picker.PickItem} per accessed element.
+     *
+     * @param articleNames Article names indexed by article code.
+     * @return List<Picker.PickItem>
+     */
+    List<Picker.PickItem> asPickItems(final List<String> articleNames) {
+        return new PickItemView(articleNames);
+    }
+
+    /**
+     * Finds where a pick with the given timestamp goes in the fully sorted columns: after all picks with a timestamp
+     * less than or equal to it.
+     *
+     * @return int - the position, or -1 if it lies beyond the insertion window.
+     */
+    private int sortedPosition(final long timestamp) {
+        if (size == 0 || timestamps[size - 1] <= timestamp) {
+            return size;
+        }
+
+        int low = Math.max(0, size - MAX_INSERTION_DISTANCE);
+        if (low > 0 && timestamps[low - 1] > timestamp) {
+            return -1;
+        }
+
+        int high = size - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestamps[middle] <= timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Stable merge sort of the range [from, to) of the keys and values. The copies must hold the same range on entry
+     * and serve as scratch space, alternating roles with the destination arrays at every level of recursion.
+     */
+    private static void mergeSort(final long[] keys, final int[] values,
+                                  final long[] keysCopy, final int[] valuesCopy,
+                                  final int from, final int to) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, values, from, to);
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        // Sort both halves into the copies, then merge them back into the destination arrays.
+        mergeSort(keysCopy, valuesCopy, keys, values, from, middle);
+        mergeSort(keysCopy, valuesCopy, keys, values, middle, to);
+
+        if (keysCopy[middle - 1] <= keysCopy[middle]) {
+            System.arraycopy(keysCopy, from, keys, from, to - from);
+            System.arraycopy(valuesCopy, from, values, from, to - from);
+            return;
+        }
+
+        for (int i = from, left = from, right = middle; i < to; i++) {
+            if (right >= to || (left < middle && keysCopy[left] <= keysCopy[right])) {
+                keys[i] = keysCopy[left];
+                values[i] = valuesCopy[left++];
+            } else {
+                keys[i] = keysCopy[right];
+                values[i] = valuesCopy[right++];
+            }
+        }
+    }
+
+    private static void insertionSort(final long[] keys, final int[] values, final int from, final int to) {
+        for (int i = from + 1; i < to; i++) {
+            long key = keys[i];
+            int value = values[i];
+            int j = i - 1;
+            while (j >= from && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    private final class PickItemView extends AbstractList<Picker.PickItem> implements RandomAccess {
+        private final List<String> articleNames;
+
+        private PickItemView(final List<String> articleNames) {
+            this.articleNames = articleNames;
+        }
+
+        @Override
+        public Picker.PickItem get(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return new Picker.PickItem(articleNames.get(articleCodes[index]), timestamps[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package tech.picnic.assignment.impl;
+
+import tech.picnic.assignment.dtos.PickerSummary;
+import tech.picnic.assignment.models.Picker;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Groups accepted picks per picker. Picks are stored in columnar form; article names are replaced by codes into a
+ * dictionary shared by all pickers of the grouping.
+ *
+ * <p>Ordering is maintained incrementally: pickers are kept sorted by (activeSince, id) as they arrive, and each
+ * picker's picks are kept in chronological order by {@link PickColumns}. Producing the result is then a linear walk
+ * rather than a sort of everything at the end of the batch.
+ *
+ * <p>With a {@link PickSpill}, the picks held in memory are bounded: once they exceed the heap budget, they are
+ * written to a sorted run on disk and the columns are emptied. Only the pickers and the article dictionary stay in
+ * memory. The result is then produced by a streaming merge of the runs and the picks still in memory.
+ *
+ * <p>In {@link OutputMode#SUMMARY} mode, the picks of a picker are not stored at all but folded into a fixed-size
+ * {@link PickerAccumulator}, so memory scales with the number of pickers only, and nothing is ever spilled.
+ */
+final class PickGrouping implements Closeable {
+
+    //Pickers are ordered firstly by active since and secondly by picker id
+    private static final Comparator<PickerPicks> PICKER_ORDER =
+            Comparator.<PickerPicks>comparingLong(picks -> picks.picker.getActiveSince())
+                    .thenComparing(picks -> picks.picker.getId());
+
+    private final Map<String, PickerPicks> pickersById = new HashMap<>();
+    private final NavigableSet<PickerPicks> orderedPickers = new TreeSet<>(PICKER_ORDER);
+    private final Map<String, Integer> articleCodes = new HashMap<>();
+    private final List<String> articleNames = new ArrayList<>();
+    private final List<PickerPicks> pickersByIndex = new ArrayList<>();
+    private final Deque<PickerPicks> recycledPicks = new ArrayDeque<>();
+    private final PickSpill spill;
+    private final OutputMode mode;
+    private long picksInMemory;
+    private PickRunMerge merge;
+
+    PickGrouping() {
+        this(null, OutputMode.PICKS);
+    }
+
+    /**
+     * Constructor of PickGrouping
+     *
+     * @param spill Spill area to write picks to once they exceed its heap budget, or {@code null} to keep all picks
+     *              in memory. Unused in summary mode.
+     * @param mode  Whether to keep the picks, or summaries of them.
+     */
+    PickGrouping(final PickSpill spill, final OutputMode mode) {
+        this.spill = mode == OutputMode.PICKS ? spill : null;
+        this.mode = mode;
+    }
+
+    OutputMode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return boolean - whether picks beyond the heap budget are spilled to disk.
+     */
+    boolean canSpill() {
+        return Objects.nonNull(spill);
+    }
+
+    int pickerCount() {
+        return pickersByIndex.size();
+    }
+
+    /**
+     * @return long - number of picks held in memory rather than spilled; always 0 in summary mode.
+     */
+    long picksInMemory() {
+        return picksInMemory;
+    }
+
+    /**
+     * This function adds a pick to the group of its picker. The first picker metadata seen for a picker id wins.
+     *
+     * @param picker      Picker of the pick.
+     * @param articleName Upper-cased name of the picked article.
+     * @param timestamp   Timestamp of the pick, in epoch milliseconds.
+     * @param quantity    Quantity picked; only summarized.
+     */
+    void add(final Picker picker, final String articleName, final long timestamp, final int quantity)
+            throws IOException {
+        PickerPicks picks = picksOf(picker);
+        if (mode == OutputMode.SUMMARY) {
+            picks.summary.add(timestamp, articleName, quantity);
+            return;
+        }
+        picks.columns.add(timestamp, articleCode(articleName));
+        picksInMemory++;
+        spillIfFull();
+    }
+
+    /**
+     * This function adds all picks of the given grouping, as if they had arrived after the picks of this grouping.
+     *
+     * @param other Grouping of later picks.
+     */
+    void addAll(final PickGrouping other) throws IOException {
+        if (other.mode != mode) {
+            throw new IllegalArgumentException("Cannot add a grouping of " + other.mode + " to one of " + mode);
+        }
+        if (mode == OutputMode.SUMMARY) {
+            // Pickers of a grouping are in order of arrival, as picker metadata of the first arrival wins.
+            for (PickerPicks otherPicks : other.pickersByIndex) {
+                picksOf(otherPicks.picker).summary.addAll(otherPicks.summary);
+            }
+            return;
+        }
+        for (PickerPicks otherPicks : other.pickersById.values()) {
+            PickColumns columns = picksOf(otherPicks.picker).columns;
+            PickColumns otherColumns = otherPicks.columns;
+            for (int i = 0; i < otherColumns.size(); i++) {
+                columns.add(otherColumns.timestampAt(i),
+                        articleCode(other.articleNames.get(otherColumns.articleCodeAt(i))));
+            }
+            picksInMemory += otherColumns.size();
+            spillIfFull();
+        }
+    }
+
+    /**
+     * This function walks the Pickers in the order of {@link #toSortedPickers()}, merging in the spilled picks if
+     * any. The pickers can only be walked once, and only while this grouping is open.
+     *
+     * @return Iterable<tech.picnic.assignment.dtos.Picker> - Sorted Pickers (dto), backed by this grouping.
+     * @throws IOException
+     */
+    Iterable<tech.picnic.assignment.dtos.Picker> sortedPickers() throws IOException {
+        if (Objects.isNull(spill) || spill.getRuns().isEmpty()) {
+            return toSortedPickers();
+        }
+        if (Objects.nonNull(merge)) {
+            throw new IllegalStateException("Spilled pickers can only be walked once.");
+        }
+        merge = new PickRunMerge(new ArrayList<>(orderedPickers), pickersByIndex.size(), articleNames,
+                spill.getRuns());
+        return merge;
+    }
+
+    /**
+     * @return Iterable<?> - the result in the mode of this grouping: {@link #sortedPickers()} or
+     * {@link #sortedSummaries()}.
+     * @throws IOException
+     */
+    Iterable<?> sortedResult() throws IOException {
+        return mode == OutputMode.SUMMARY ? sortedSummaries() : sortedPickers();
+    }
+
+    /**
+     * This function summarizes the picks of each picker, in the picker order of {@link #toSortedPickers()}.
+     *
+     * @return List<PickerSummary> - Sorted summaries (dto) of the pickers.
+     */
+    List<PickerSummary> sortedSummaries() {
+        if (mode != OutputMode.SUMMARY) {
+            throw new IllegalStateException("Picks are not summarized in " + mode + " mode");
+        }
+        List<PickerSummary> summaries = new ArrayList<>(orderedPickers.size());
+        for (PickerPicks picks : orderedPickers) {
+            PickerAccumulator summary = picks.summary;
+            summaries.add(new PickerSummary(
+                    picks.picker.getId(),
+                    picks.picker.getName(),
+                    picks.picker.getActiveSince(),
+                    summary.getPickCount(),
+                    summary.getTotalQuantity(),
+                    summary.getFirstTimestamp(),
+                    summary.getLastTimestamp(),
+                    summary.getDistinctArticles()));
+        }
+        return summaries;
+    }
+
+    /**
+     * This function walks the Pickers in chronological(ascending) order of their activeSince timestamp, breaking ties
+     * by ID, each with its picks in chronological(ascending) order of their timestamp.
+     *
+     * @return List<tech.picnic.assignment.dtos.Picker> - List of Sorted Picker (dto), backed by this grouping.
+     */
+    List<tech.picnic.assignment.dtos.Picker> toSortedPickers() {
+        if (mode != OutputMode.PICKS) {
+            throw new IllegalStateException("Picks are not kept in " + mode + " mode");
+        }
+        List<tech.picnic.assignment.dtos.Picker> pickers = new ArrayList<>(orderedPickers.size());
+
+        for (PickerPicks picks : orderedPickers) {
+            picks.columns.sort();
+            pickers.add(new tech.picnic.assignment.dtos.Picker(
+                    picks.picker.getId(),
+                    picks.picker.getName(),
+                    picks.picker.getActiveSince(),
+                    picks.columns.asPickItems(articleNames)));
+        }
+        return pickers;
+    }
+
+    /**
+     * Empties the grouping for the next batch, keeping its storage: the picks of the current pickers are recycled
+     * for the pickers of the next batch, and the maps keep their capacity.
+     *
+     * @throws IOException
+     */
+    void reset() throws IOException {
+        try {
+            deleteSpilledPicks();
+        } finally {
+            for (PickerPicks picks : pickersByIndex) {
+                picks.reset();
+                recycledPicks.push(picks);
+            }
+            pickersById.clear();
+            orderedPickers.clear();
+            articleCodes.clear();
+            articleNames.clear();
+            pickersByIndex.clear();
+            picksInMemory = 0;
+        }
+    }
+
+    /**
+     * Deletes the spilled picks, if any.
+     */
+    @Override
+    public void close() throws IOException {
+        deleteSpilledPicks();
+    }
+
+    private void deleteSpilledPicks() throws IOException {
+        try {
+            if (Objects.nonNull(merge)) {
+                merge.close();
+                merge = null;
+            }
+        } finally {
+            if (Objects.nonNull(spill)) {
+                spill.deleteRuns();
+            }
+        }
+    }
+
+    private PickerPicks picksOf(final Picker picker) {
+        PickerPicks picks = pickersById.get(picker.getId());
+        if (picks == null) {
+            picks = recycledPicks.isEmpty() ? new PickerPicks(mode) : recycledPicks.pop();
+            picks.bind(picker, pickersByIndex.size());
+            pickersById.put(picker.getId(), picks);
+            orderedPickers.add(picks);
+            pickersByIndex.add(picks);
+        }
+        return picks;
+    }
+
+    private void spillIfFull() throws IOException {
+        if (Objects.nonNull(spill) && spill.isFull(picksInMemory)) {
+            spillRun();
+        }
+    }
+
+    /**
+     * Writes the picks in memory to a new run in picker order, each picker's picks in chronological order, and
+     * empties the columns.
+     */
+    private void spillRun() throws IOException {
+        try (PickRunFile.Writer run = spill.newRun()) {
+            for (PickerPicks picks : orderedPickers) {
+                PickColumns columns = picks.columns;
+                if (columns.size() == 0) {
+                    continue;
+                }
+                columns.sort();
+                run.startGroup(picks.index, columns.size());
+                for (int i = 0; i < columns.size(); i++) {
+                    run.add(columns.timestampAt(i), columns.articleCodeAt(i));
+                }
+                picks.spilledCount += columns.size();
+                columns.clear();
+            }
+        }
+        picksInMemory = 0;
+    }
+
+    private int articleCode(final String articleName) {
+        Integer code = articleCodes.get(articleName);
+        if (code == null) {
+            code = articleNames.size();
+            articleNames.add(articleName);
+            articleCodes.put(articleName, code);
+        }
+        return code;
+    }
+
+    /**
+     * The picks of a picker: their columns, or their summary in summary mode.
+     */
+    static final class PickerPicks {
+        private final PickColumns columns;
+        private final PickerAccumulator summary;
+        private Picker picker;
+        private int index;
+        private long spilledCount;
+
+        private PickerPicks(final OutputMode mode) {
+            this.columns = mode == OutputMode.PICKS ? new PickColumns() : null;
+            this.summary = mode == OutputMode.SUMMARY ? new PickerAccumulator() : null;
+        }
+
+        private void bind(final Picker picker, final int index) {
+            this.picker = picker;
+            this.index = index;
+            this.spilledCount = 0;
+        }
+
+        private void reset() {
+            if (Objects.nonNull(columns)) {
+                columns.reset();
+            } else {
+                summary.reset();
+            }
+        }
+
+        Picker getPicker() {
+            return picker;
+        }
+
+        /**
+         * @return int - index of the picker in its grouping, in order of arrival.
+         */
+        int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return PickColumns - the picks of the picker still in memory.
+         */
+        PickColumns getColumns() {
+            return columns;
+        }
+
+        /**
+         * @return long - total number of picks of the picker, spilled or in memory.
+         */
+        long getPickCount() {
+            return spilledCount + columns.size();
+        }
+    }
+}
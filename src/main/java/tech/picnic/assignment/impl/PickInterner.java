@@ -0,0 +1,62 @@
+package tech.picnic.assignment.impl;
+
+import tech.picnic.assignment.models.Article;
+import tech.picnic.assignment.models.Picker;
+
+/**
+ * Interning layer which maps decoded events onto canonical flyweights. Pickers are keyed by picker id and
+ * upper-cased article names by article id, so a repeated picker or article costs a lookup instead of new strings
+ * retained per pick. Shared by all processors of a factory; both caches are bounded.
+ */
+final class PickInterner {
+
+    private final BoundedCache<String, Picker> pickers;
+    private final BoundedCache<String, ArticleName> articleNames;
+
+    /**
+     * Constructor of PickInterner
+     *
+     * @param maxPickers  Maximum number of pickers retained.
+     * @param maxArticles Maximum number of article names retained.
+     */
+    PickInterner(final int maxPickers, final int maxArticles) {
+        this.pickers = new BoundedCache<>(maxPickers);
+        this.articleNames = new BoundedCache<>(maxArticles);
+    }
+
+    /**
+     * @return Picker - the canonical instance equal to the given picker.
+     */
+    Picker canonicalPicker(final Picker picker) {
+        Picker canonical = pickers.get(picker.getId());
+        if (picker.equals(canonical)) {
+            return canonical;
+        }
+        pickers.put(picker.getId(), picker);
+        return picker;
+    }
+
+    /**
+     * @return String - the canonical upper-cased name of the given article.
+     */
+    String upperCaseName(final Article article) {
+        ArticleName cached = articleNames.get(article.getId());
+        if (cached != null && cached.name.equals(article.getName())) {
+            return cached.upperCaseName;
+        }
+        //Here taking care of upperCasing of articles.
+        ArticleName articleName = new ArticleName(article.getName(), article.getName().toUpperCase());
+        articleNames.put(article.getId(), articleName);
+        return articleName.upperCaseName;
+    }
+
+    private static final class ArticleName {
+        private final String name;
+        private final String upperCaseName;
+
+        private ArticleName(final String name, final String upperCaseName) {
+            this.name = name;
+            this.upperCaseName = upperCaseName;
+        }
+    }
+}
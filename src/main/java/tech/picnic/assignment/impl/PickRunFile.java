@@ -0,0 +1,147 @@
+package tech.picnic.assignment.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compact binary format of a sorted run of spilled picks. A run is a sequence of picker groups in picker order, each
+ * a header (picker index, pick count) followed by the picks of the picker in chronological order. Timestamps are
+ * delta-encoded against the previous pick of the group and all numbers are written as varints, so a typical pick
+ * takes a few bytes rather than the 12 it takes in memory.
+ */
+final class PickRunFile {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private PickRunFile() {
+    }
+
+    /**
+     * Writes a run. Groups must be written in picker order, and the picks of a group in chronological order.
+     */
+    static final class Writer implements Closeable {
+        private final OutputStream out;
+        private int remaining;
+        private long previousTimestamp;
+
+        Writer(final Path file) throws IOException {
+            this.out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+        }
+
+        /**
+         * @param pickerIndex Index of the picker in its grouping.
+         * @param pickCount   Number of picks which follow.
+         */
+        void startGroup(final int pickerIndex, final int pickCount) throws IOException {
+            if (remaining != 0) {
+                throw new IllegalStateException(remaining + " picks missing from the previous group.");
+            }
+            writeVarLong(pickerIndex);
+            writeVarLong(pickCount);
+            remaining = pickCount;
+            previousTimestamp = 0;
+        }
+
+        void add(final long timestamp, final int articleCode) throws IOException {
+            if (remaining-- == 0) {
+                throw new IllegalStateException("More picks than announced by the group.");
+            }
+            long delta = timestamp - previousTimestamp;
+            // Zig-zag encoding, so the first (absolute) timestamp of a group may be negative too.
+            writeVarLong((delta << 1) ^ (delta >> 63));
+            writeVarLong(articleCode);
+            previousTimestamp = timestamp;
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads a run pick by pick.
+     */
+    static final class Reader implements Closeable {
+        private final InputStream in;
+        private int pickerIndex;
+        private int remaining;
+        private long timestamp;
+        private int articleCode;
+
+        Reader(final Path file) throws IOException {
+            this.in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        }
+
+        /**
+         * This function advances to the next pick of the run.
+         *
+         * @return boolean - whether there was a next pick; {@code false} at the end of the run.
+         */
+        boolean next() throws IOException {
+            while (remaining == 0) {
+                int first = in.read();
+                if (first < 0) {
+                    return false;
+                }
+                pickerIndex = (int) readVarLong(first);
+                remaining = (int) readVarLong(readByte());
+                timestamp = 0;
+            }
+            long zigZag = readVarLong(readByte());
+            timestamp += (zigZag >>> 1) ^ -(zigZag & 1);
+            articleCode = (int) readVarLong(readByte());
+            remaining--;
+            return true;
+        }
+
+        int pickerIndex() {
+            return pickerIndex;
+        }
+
+        long timestamp() {
+            return timestamp;
+        }
+
+        int articleCode() {
+            return articleCode;
+        }
+
+        private long readVarLong(final int first) throws IOException {
+            long value = first & 0x7F;
+            for (int shift = 7, current = first; (current & 0x80) != 0; shift += 7) {
+                current = readByte();
+                value |= (long) (current & 0x7F) << shift;
+            }
+            return value;
+        }
+
+        private int readByte() throws IOException {
+            int value = in.read();
+            if (value < 0) {
+                throw new EOFException("Truncated spill run.");
+            }
+            return value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package tech.picnic.assignment.impl;
+
+import tech.picnic.assignment.dtos.Picker;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.AbstractSequentialList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Streaming k-way merge of the sorted runs of a spilled grouping and the picks it still holds in memory. The merge
+ * yields the same pickers in the same order as an in-memory grouping would: each source is ordered by (picker rank,
+ * timestamp), and equal timestamps are taken from the earliest written source first, so they keep their arrival
+ * order.
+ *
+ * <p>The picks of a picker are exposed as a sequential list reading from the merge, so the output stage serializes
+ * them as they are merged without materializing them. The pickers, and the picks of each picker, can only be walked
+ * once and in order.
+ */
+final class PickRunMerge implements Iterable<Picker>, Closeable {
+
+    private static final Comparator<Source> SOURCE_ORDER = Comparator.comparingInt((Source source) -> source.rank)
+            .thenComparingLong(source -> source.timestamp)
+            .thenComparingInt(source -> source.order);
+
+    private final List<PickGrouping.PickerPicks> orderedPickers;
+    private final List<String> articleNames;
+    private final List<PickRunFile.Reader> readers = new ArrayList<>();
+    private final PriorityQueue<Source> sources = new PriorityQueue<>(SOURCE_ORDER);
+    private boolean walked;
+
+    /**
+     * Constructor of PickRunMerge
+     *
+     * @param orderedPickers Pickers of the grouping, in output order.
+     * @param pickerCount    Number of pickers of the grouping.
+     * @param articleNames   Article names indexed by article code.
+     * @param runs           Run files, in the order they were written.
+     * @throws IOException
+     */
+    PickRunMerge(final List<PickGrouping.PickerPicks> orderedPickers,
+                 final int pickerCount,
+                 final List<String> articleNames,
+                 final List<Path> runs) throws IOException {
+        this.orderedPickers = orderedPickers;
+        this.articleNames = articleNames;
+
+        int[] rankByIndex = new int[pickerCount];
+        for (int rank = 0; rank < orderedPickers.size(); rank++) {
+            rankByIndex[orderedPickers.get(rank).getIndex()] = rank;
+        }
+
+        try {
+            for (Path run : runs) {
+                PickRunFile.Reader reader = new PickRunFile.Reader(run);
+                readers.add(reader);
+                addIfNotEmpty(new RunSource(reader, rankByIndex, readers.size()));
+            }
+            addIfNotEmpty(new MemorySource(runs.size() + 1));
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Iterator<Picker> iterator() {
+        if (walked) {
+            throw new IllegalStateException("Spilled pickers can only be walked once.");
+        }
+        walked = true;
+
+        return new Iterator<Picker>() {
+            private int rank;
+            private MergedPicks current;
+
+            @Override
+            public boolean hasNext() {
+                return rank < orderedPickers.size();
+            }
+
+            @Override
+            public Picker next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (current != null) {
+                    current.skipRemaining();
+                }
+                PickGrouping.PickerPicks picks = orderedPickers.get(rank);
+                current = new MergedPicks(rank++, picks.getPickCount());
+                return new Picker(
+                        picks.getPicker().getId(),
+                        picks.getPicker().getName(),
+                        picks.getPicker().getActiveSince(),
+                        current);
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (PickRunFile.Reader reader : readers) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        readers.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void addIfNotEmpty(final Source source) throws IOException {
+        if (source.advance()) {
+            sources.add(source);
+        }
+    }
+
+    /**
+     * This function takes the next pick of the merge, which must belong to the picker of the given rank.
+     */
+    private Picker.PickItem take(final int rank) {
+        Source source = sources.poll();
+        if (source == null || source.rank != rank) {
+            throw new IllegalStateException("Spilled picks do not match the picker counts.");
+        }
+        Picker.PickItem item = new Picker.PickItem(articleNames.get(source.articleCode), source.timestamp);
+        try {
+            addIfNotEmpty(source);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return item;
+    }
+
+    /**
+     * A sorted source of picks; positioned on its current pick after a successful {@link #advance()}.
+     */
+    private abstract static class Source {
+        private final int order;
+        int rank;
+        long timestamp;
+        int articleCode;
+
+        Source(final int order) {
+            this.order = order;
+        }
+
+        /**
+         * @return boolean - whether the source was positioned on a next pick; {@code false} once exhausted.
+         */
+        abstract boolean advance() throws IOException;
+    }
+
+    private static final class RunSource extends Source {
+        private final PickRunFile.Reader reader;
+        private final int[] rankByIndex;
+
+        private RunSource(final PickRunFile.Reader reader, final int[] rankByIndex, final int order) {
+            super(order);
+            this.reader = reader;
+            this.rankByIndex = rankByIndex;
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            if (!reader.next()) {
+                return false;
+            }
+            rank = rankByIndex[reader.pickerIndex()];
+            timestamp = reader.timestamp();
+            articleCode = reader.articleCode();
+            return true;
+        }
+    }
+
+    private final class MemorySource extends Source {
+        private int pickerRank = -1;
+        private int position;
+
+        private MemorySource(final int order) {
+            super(order);
+        }
+
+        @Override
+        boolean advance() {
+            PickColumns columns = pickerRank < 0 ? null : orderedPickers.get(pickerRank).getColumns();
+            while (columns == null || position == columns.size()) {
+                if (++pickerRank == orderedPickers.size()) {
+                    return false;
+                }
+                columns = orderedPickers.get(pickerRank).getColumns();
+                columns.sort();
+                position = 0;
+            }
+            rank = pickerRank;
+            timestamp = columns.timestampAt(position);
+            articleCode = columns.articleCodeAt(position++);
+            return true;
+        }
+    }
+
+    /**
+     * The picks of a single picker, read from the merge as they are iterated.
+     */
+    private final class MergedPicks extends AbstractSequentialList<Picker.PickItem> {
+        private final int rank;
+        private final int size;
+        private int taken;
+        private boolean iterated;
+
+        private MergedPicks(final int rank, final long size) {
+            this.rank = rank;
+            this.size = Math.toIntExact(size);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public ListIterator<Picker.PickItem> listIterator(final int index) {
+            if (index != 0 || iterated) {
+                throw new UnsupportedOperationException("Merged picks can only be iterated once, from the start.");
+            }
+            iterated = true;
+
+            return new ListIterator<Picker.PickItem>() {
+                @Override
+                public boolean hasNext() {
+                    return taken < size;
+                }
+
+                @Override
+                public Picker.PickItem next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    taken++;
+                    return take(rank);
+                }
+
+                @Override
+                public int nextIndex() {
+                    return taken;
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return false;
+                }
+
+                @Override
+                public Picker.PickItem previous() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int previousIndex() {
+                    return taken - 1;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void set(final Picker.PickItem pickItem) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void add(final Picker.PickItem pickItem) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        private void skipRemaining() {
+            for (; taken < size; taken++) {
+                take(rank);
+            }
+        }
+    }
+}
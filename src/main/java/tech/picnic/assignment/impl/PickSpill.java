@@ -0,0 +1,88 @@
+package tech.picnic.assignment.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Spill area of a single grouping: decides when the picks held in memory exceed the heap budget, and owns the
+ * temporary run files written once they do. Closing the spill deletes its run files.
+ */
+final class PickSpill implements Closeable {
+
+    // Two columns of 12 bytes per pick, with slack for growing the columns and for the scratch space of sorting.
+    static final int ESTIMATED_BYTES_PER_PICK = 24;
+
+    private final Path directory;
+    private final long maxPicksInMemory;
+    private final List<Path> runs = new ArrayList<>();
+
+    /**
+     * Constructor of PickSpill
+     *
+     * @param directory       Directory to write run files to; created if missing.
+     * @param heapBudgetBytes Heap the picks of the grouping may take before they are spilled.
+     */
+    PickSpill(final Path directory, final long heapBudgetBytes) {
+        if (heapBudgetBytes <= 0) {
+            throw new IllegalArgumentException("Heap budget should be positive.");
+        }
+        this.directory = directory;
+        this.maxPicksInMemory = Math.max(1, heapBudgetBytes / ESTIMATED_BYTES_PER_PICK);
+    }
+
+    boolean isFull(final long picksInMemory) {
+        return picksInMemory >= maxPicksInMemory;
+    }
+
+    /**
+     * @return PickRunFile.Writer - writer of a new run, which is deleted when this spill is closed.
+     * @throws IOException
+     */
+    PickRunFile.Writer newRun() throws IOException {
+        Files.createDirectories(directory);
+        Path run = Files.createTempFile(directory, "picks-", ".run");
+        runs.add(run);
+        return new PickRunFile.Writer(run);
+    }
+
+    /**
+     * @return List<Path> - the run files in the order they were written.
+     */
+    List<Path> getRuns() {
+        return Collections.unmodifiableList(runs);
+    }
+
+    @Override
+    public void close() throws IOException {
+        deleteRuns();
+    }
+
+    /**
+     * Deletes the run files written so far; later runs can still be written.
+     *
+     * @throws IOException
+     */
+    void deleteRuns() throws IOException {
+        IOException failure = null;
+        for (Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        runs.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package tech.picnic.assignment.impl;
+
+/**
+ * Fixed-size summary of the picks of a single picker: counts, the time span of the picks and a sketch of the
+ * distinct articles picked. Takes the same memory however many picks are added.
+ */
+final class PickerAccumulator {
+
+    private final DistinctCountSketch articles = new DistinctCountSketch();
+    private long pickCount;
+    private long totalQuantity;
+    private long firstTimestamp = Long.MAX_VALUE;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    /**
+     * @param timestamp   Timestamp of the pick, in epoch milliseconds.
+     * @param articleName Upper-cased name of the picked article.
+     * @param quantity    Quantity picked.
+     */
+    void add(final long timestamp, final String articleName, final int quantity) {
+        pickCount++;
+        totalQuantity += quantity;
+        firstTimestamp = Math.min(firstTimestamp, timestamp);
+        lastTimestamp = Math.max(lastTimestamp, timestamp);
+        articles.add(Hashing.hash64(articleName));
+    }
+
+    /**
+     * Adds the picks summarized by the given accumulator.
+     */
+    void addAll(final PickerAccumulator other) {
+        pickCount += other.pickCount;
+        totalQuantity += other.totalQuantity;
+        firstTimestamp = Math.min(firstTimestamp, other.firstTimestamp);
+        lastTimestamp = Math.max(lastTimestamp, other.lastTimestamp);
+        articles.addAll(other.articles);
+    }
+
+    long getPickCount() {
+        return pickCount;
+    }
+
+    long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * @return long - estimated number of distinct articles picked.
+     */
+    long getDistinctArticles() {
+        return articles.estimate();
+    }
+
+    void reset() {
+        pickCount = 0;
+        totalQuantity = 0;
+        firstTimestamp = Long.MAX_VALUE;
+        lastTimestamp = Long.MIN_VALUE;
+        articles.reset();
+    }
+}
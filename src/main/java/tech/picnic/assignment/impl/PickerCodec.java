@@ -0,0 +1,96 @@
+package tech.picnic.assignment.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import tech.picnic.assignment.dtos.Picker;
+import tech.picnic.assignment.dtos.PickerSummary;
+import tech.picnic.assignment.utils.IsoTimestamps;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Hand-written serialization of the result DTOs, writing the same members in the same order as their Jackson
+ * annotations describe, null members left out. Field names are pre-encoded once, and no {@code ObjectMapper} or
+ * introspection is needed to write a result.
+ */
+final class PickerCodec {
+
+    private static final SerializableString PICKER_NAME = new SerializedString("picker_name");
+    private static final SerializableString ACTIVE_SINCE = new SerializedString("active_since");
+    private static final SerializableString PICKS = new SerializedString("picks");
+    private static final SerializableString ARTICLE_NAME = new SerializedString("article_name");
+    private static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializableString PICK_COUNT = new SerializedString("pick_count");
+    private static final SerializableString TOTAL_QUANTITY = new SerializedString("total_quantity");
+    private static final SerializableString FIRST_PICK_TIMESTAMP = new SerializedString("first_pick_timestamp");
+    private static final SerializableString LAST_PICK_TIMESTAMP = new SerializedString("last_pick_timestamp");
+    private static final SerializableString DISTINCT_ARTICLES = new SerializedString("distinct_articles");
+
+    private PickerCodec() {
+    }
+
+    /**
+     * Writes a picker, or a picker summary, as a JSON object.
+     *
+     * @param generator Generator to write to.
+     * @param value     {@link Picker} or {@link PickerSummary} (dto).
+     * @throws IOException
+     */
+    static void write(final JsonGenerator generator, final Object value) throws IOException {
+        if (value instanceof Picker) {
+            write(generator, (Picker) value);
+        } else if (value instanceof PickerSummary) {
+            write(generator, (PickerSummary) value);
+        } else {
+            throw new IllegalArgumentException("Cannot write " + value);
+        }
+    }
+
+    static void write(final JsonGenerator generator, final Picker picker) throws IOException {
+        generator.writeStartObject();
+        writeString(generator, PICKER_NAME, picker.getName());
+        generator.writeFieldName(ACTIVE_SINCE);
+        generator.writeString(IsoTimestamps.format(picker.getActiveSince()));
+        if (Objects.nonNull(picker.getPickItemList())) {
+            generator.writeFieldName(PICKS);
+            generator.writeStartArray();
+            for (Picker.PickItem pick : picker.getPickItemList()) {
+                generator.writeStartObject();
+                writeString(generator, ARTICLE_NAME, pick.getArticleName());
+                generator.writeFieldName(TIMESTAMP);
+                generator.writeString(IsoTimestamps.format(pick.getTimestamp()));
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    static void write(final JsonGenerator generator, final PickerSummary summary) throws IOException {
+        generator.writeStartObject();
+        writeString(generator, PICKER_NAME, summary.getName());
+        generator.writeFieldName(ACTIVE_SINCE);
+        generator.writeString(IsoTimestamps.format(summary.getActiveSince()));
+        generator.writeFieldName(PICK_COUNT);
+        generator.writeNumber(summary.getPickCount());
+        generator.writeFieldName(TOTAL_QUANTITY);
+        generator.writeNumber(summary.getTotalQuantity());
+        generator.writeFieldName(FIRST_PICK_TIMESTAMP);
+        generator.writeString(IsoTimestamps.format(summary.getFirstPickTimestamp()));
+        generator.writeFieldName(LAST_PICK_TIMESTAMP);
+        generator.writeString(IsoTimestamps.format(summary.getLastPickTimestamp()));
+        generator.writeFieldName(DISTINCT_ARTICLES);
+        generator.writeNumber(summary.getDistinctArticles());
+        generator.writeEndObject();
+    }
+
+    private static void writeString(final JsonGenerator generator, final SerializableString name, final String value)
+            throws IOException {
+        if (Objects.nonNull(value)) {
+            generator.writeFieldName(name);
+            generator.writeString(value);
+        }
+    }
+}
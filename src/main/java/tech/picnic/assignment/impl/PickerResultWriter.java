@@ -0,0 +1,95 @@
+package tech.picnic.assignment.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import tech.picnic.assignment.utils.JsonUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * Output stage which streams the processing result to the sink picker by picker, so the result document is never
+ * materialized as a whole in memory. The buffer in front of the sink is allocated on the first write and kept for
+ * later ones, so a writer reused across batches does not allocate a new buffer per document.
+ *
+ * <p>Not thread-safe; a writer writes one document at a time.
+ */
+final class PickerResultWriter {
+
+    private final int bufferSize;
+    private final int flushInterval;
+    private SinkBuffer buffer;
+
+    /**
+     * Constructor of PickerResultWriter
+     *
+     * @param bufferSize    Size in bytes of the buffer in front of the sink.
+     * @param flushInterval Number of pickers written between two flushes of the sink.
+     */
+    PickerResultWriter(final int bufferSize, final int flushInterval) {
+        if (bufferSize <= 0 || flushInterval <= 0) {
+            throw new IllegalArgumentException("Buffer size and flush interval should be positive.");
+        }
+        this.bufferSize = bufferSize;
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * This function writes the given pickers as a JSON array to the sink, flushing it every flushInterval pickers
+     * and once more at the end. The sink itself is left open.
+     *
+     * @param pickers Sorted pickers, or picker summaries (dto), to be written.
+     * @param sink    Output stream
+     * @throws IOException
+     */
+    void write(final Iterable<?> pickers, final OutputStream sink) throws IOException {
+        if (Objects.isNull(buffer)) {
+            buffer = new SinkBuffer(bufferSize);
+        }
+        buffer.attach(sink);
+        try (JsonGenerator generator = JsonUtils.createGenerator(buffer)) {
+            generator.writeStartArray();
+            int pending = 0;
+            for (Object picker : pickers) {
+                PickerCodec.write(generator, picker);
+                if (++pending == flushInterval) {
+                    generator.flush();
+                    pending = 0;
+                }
+            }
+            generator.writeEndArray();
+        } finally {
+            buffer.detach();
+        }
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+
+    int getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Buffer in front of the sink of the current document. Bytes left by a failed document are discarded, rather
+     * than written to the sink of the next one.
+     */
+    private static final class SinkBuffer extends BufferedOutputStream {
+
+        private SinkBuffer(final int size) {
+            super(OutputStream.nullOutputStream(), size);
+        }
+
+        private void attach(final OutputStream sink) {
+            out = sink;
+            count = 0;
+        }
+
+        private void detach() {
+            out = OutputStream.nullOutputStream();
+            count = 0;
+        }
+    }
+}
@@ -2,15 +2,46 @@ package tech.picnic.assignment.impl;
 
 import com.google.auto.service.AutoService;
 
+import java.io.OutputStream;
 import java.time.Duration;
+import java.util.List;
 
 import tech.picnic.assignment.api.EventProcessorFactory;
 import tech.picnic.assignment.api.StreamProcessor;
+import tech.picnic.assignment.utils.AppConfigWatcher;
 
 @AutoService(EventProcessorFactory.class)
 public final class PickingEventProcessorFactory implements EventProcessorFactory {
+    private final ProcessorContext context;
+
+    /** Creates a factory configured through the bundled and the optional external config.properties. */
+    public PickingEventProcessorFactory() {
+        this(AppConfigWatcher.fromSystemProperties());
+    }
+
+    PickingEventProcessorFactory(final AppConfigWatcher configWatcher) {
+        this.context = new ProcessorContext(configWatcher);
+    }
+
     @Override
     public StreamProcessor createProcessor(int maxEvents, Duration maxTime) {
-        return new PickingStreamProcessor(maxEvents, maxTime);
+        return createProcessor(maxEvents, maxTime, OutputMode.PICKS);
+    }
+
+    /**
+     * Same as {@link #createProcessor(int, Duration)}, producing the given kind of output. In
+     * {@link OutputMode#SUMMARY} mode, memory no longer grows with the number of picks per picker. The processor can
+     * also merge several sources into one result, see {@link PickingStreamProcessor#process(List, OutputStream)}.
+     */
+    public PickingStreamProcessor createProcessor(final int maxEvents,
+                                                  final Duration maxTime,
+                                                  final OutputMode outputMode) {
+        return new PickingStreamProcessor(maxEvents, maxTime, outputMode, context);
+    }
+
+    /** Shuts down the reader and decoder threads shared by this factory's processors. */
+    @Override
+    public void close() {
+        context.close();
     }
 }
@@ -1,18 +1,18 @@
 package tech.picnic.assignment.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import tech.picnic.assignment.api.StreamProcessor;
-import tech.picnic.assignment.dtos.Picker;
 import tech.picnic.assignment.models.Event;
 import tech.picnic.assignment.models.TemperatureZone;
-import tech.picnic.assignment.utils.AppConfigUtils;
-import tech.picnic.assignment.utils.JsonUtils;
+import tech.picnic.assignment.utils.AppConfig;
+import tech.picnic.assignment.utils.AppConfigWatcher;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
@@ -24,18 +24,44 @@ import java.util.logging.Logger;
 public class PickingStreamProcessor implements StreamProcessor {
 
     private final int maxEvents;
-    private final Duration maxTime;
+    private final long maxTimeNanos;
+    private final EventReaderPool readerPool;
+    private final AppConfigWatcher configWatcher;
+    private final PickInterner interner;
+    private final ParallelPickReader parallelReader;
+    private final MultiSourcePickReader multiSourceReader;
+    private final boolean parallel;
+    private final ProcessorMetrics metrics;
+    private final ProcessorContext context;
+    private final OutputMode outputMode;
+    private final ProcessorArena arena;
+    private final Map<InputStream, DetachableInputStream> abandonedReaders =
+            Collections.synchronizedMap(new IdentityHashMap<>());
     private final static Logger LOGGER = Logger.getLogger(PickingStreamProcessor.class.getName());
 
-    public PickingStreamProcessor(final int maxEvents, final Duration maxTime) {
+    PickingStreamProcessor(final int maxEvents,
+                           final Duration maxTime,
+                           final OutputMode outputMode,
+                           final ProcessorContext context) {
+        Objects.requireNonNull(context, "Context should not be null");
+        this.outputMode = Objects.requireNonNull(outputMode, "OutputMode should not be null");
         this.maxEvents = maxEvents;
-        this.maxTime = Objects.requireNonNull(maxTime, "MaxTime should not be null");
-
+        this.maxTimeNanos = toNanosSaturated(Objects.requireNonNull(maxTime, "MaxTime should not be null"));
+        this.readerPool = context.getReaderPool();
+        this.configWatcher = context.getConfigWatcher();
+        this.interner = context.getInterner();
+        this.parallelReader = new ParallelPickReader(context);
+        this.multiSourceReader = new MultiSourcePickReader(context);
+        this.parallel = context.getDecodePool().size() > 1;
+        this.metrics = context.getMetrics();
+        this.context = context;
+        this.arena = new ProcessorArena(outputMode);
     }
 
     /**
      * This function used to process input stream and after performing several operations like deserialization
      * and serialization of data, filtering and sorting as per the requirement and providing the desired output.
+     * Gzip and zstd compressed input is detected and decompressed on the fly.
      *
      * @param source The source of data to be processed.
      * @param sink   The sink to which the processing result is sent.
@@ -47,143 +73,379 @@ public class PickingStreamProcessor implements StreamProcessor {
         if (Objects.isNull(source) || Objects.isNull(sink)) {
             throw new IllegalArgumentException("I/O streams should not be null.");
         }
-        List<String> jsonEventList = doProcess(source);
-        List<Event> filteredEvents = convertToEventAndFilter(jsonEventList);
-        List<Picker> pickers = toPickers(filteredEvents);
-        List<Picker> sortedPickers = sortPickerAndPicks(pickers);
-
-        //Serialization of Result and writing to output stream
-        String output = JsonUtils.serialize(sortedPickers);
-        writeToOutputStream(output, sink);
+        process(sink, (config, idFilter, grouping, stats, timed) -> {
+            long startTime = System.nanoTime();
+            if (!awaitAbandonedReader(source, maxTimeNanos)) {
+                stats.endReason = BatchStats.EndReason.MAX_TIME;
+                LOGGER.log(Level.FINE, "Source still blocked on a reader of a previous call");
+                return true;
+            }
+            long timeoutNanos = remainingNanos(startTime);
+            DetachableInputStream view = new DetachableInputStream(source);
+            try (DecompressingInputStream input = new DecompressingInputStream(view, readerPool)) {
+                // Framed batches are decoded by the workers, so with a single one the file is read as a stream.
+                MappedFileFramer fileFramer = parallel ? MappedFileFramer.open(source) : null;
+                if (Objects.nonNull(fileFramer)) {
+                    LOGGER.log(Level.FINE, "Reading file input through memory mapping");
+                    parallelReader.read(fileFramer, config.getExcludedTemperatureZones(), idFilter, maxEvents,
+                            timeoutNanos, grouping, stats, timed);
+                } else if (parallel) {
+                    parallelReader.read(input, config.getExcludedTemperatureZones(), idFilter, maxEvents,
+                            timeoutNanos, grouping, stats, timed);
+                } else {
+                    return doProcess(input, config.getExcludedTemperatureZones(), idFilter, timeoutNanos, grouping,
+                            stats, timed);
+                }
+                // Only the calling thread merges into the grouping and consults the filter of duplicates, so threads
+                // the parallel reader abandons never touch them.
+                return true;
+            } finally {
+                detach(source, view);
+            }
+        });
     }
 
     /**
-     * This Function read the input stream line by line with respect to maxTime and maxEvent whichever comes first.
-     * BufferedReader.readLine() is a blocking operation , so to overcome this, we read the stream in a
-     * separate thread to handle the maxTime operation with TimeOut.
+     * This function processes several sources into a single result, as if their events arrived on a single source.
+     * Each source is read concurrently by a reader of its own, so reading takes as long as the slowest source.
+     * maxEvents and maxTime apply to all sources combined, and duplicates are dropped across sources. Compressed
+     * sources are detected as in {@link #process(InputStream, OutputStream)}.
      *
-     * @param source InputStream
-     * @return List<String>
+     * @param sources The sources of data to be processed.
+     * @param sink    The sink to which the processing result is sent.
      * @throws IOException
      */
-    private List<String> doProcess(final InputStream source) throws IOException {
-        List<String> eventList = new ArrayList<>();
+    public void process(final List<? extends InputStream> sources, final OutputStream sink) throws IOException {
+        if (Objects.isNull(sources) || sources.stream().anyMatch(Objects::isNull) || Objects.isNull(sink)) {
+            throw new IllegalArgumentException("I/O streams should not be null.");
+        }
+        process(sink, (config, idFilter, grouping, stats, timed) -> {
+            long startTime = System.nanoTime();
+            List<InputStream> readable = new ArrayList<>(sources.size());
+            for (InputStream source : sources) {
+                if (awaitAbandonedReader(source, remainingNanos(startTime))) {
+                    readable.add(source);
+                } else {
+                    LOGGER.log(Level.FINE, "Skipping source still blocked on a reader of a previous call");
+                }
+            }
+            List<DetachableInputStream> views = new ArrayList<>(readable.size());
+            List<DecompressingInputStream> inputs = new ArrayList<>(readable.size());
+            try {
+                for (InputStream source : readable) {
+                    views.add(new DetachableInputStream(source));
+                    inputs.add(new DecompressingInputStream(views.get(views.size() - 1), readerPool));
+                }
+                return multiSourceReader.read(inputs, config.getExcludedTemperatureZones(), idFilter, maxEvents,
+                        remainingNanos(startTime), grouping, stats, timed);
+            } finally {
+                inputs.forEach(DecompressingInputStream::close);
+                for (int i = 0; i < views.size(); i++) {
+                    detach(readable.get(i), views.get(i));
+                }
+            }
+        });
+    }
 
+    /**
+     * This function waits, at most for the given time, until a reader which a previous call abandoned while it was
+     * blocked on the given source has returned from its read. Starting a second reader on the source instead would
+     * hold another reader thread, and let two readers consume the source at the same time.
+     *
+     * @return boolean - whether the source is free to be read.
+     * @throws InterruptedIOException if interrupted while waiting.
+     */
+    private boolean awaitAbandonedReader(final InputStream source, final long timeoutNanos)
+            throws InterruptedIOException {
+        DetachableInputStream abandoned = abandonedReaders.get(source);
+        if (Objects.isNull(abandoned)) {
+            return true;
+        }
         try {
-            CompletableFuture.runAsync(() -> {
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(source, StandardCharsets.UTF_8))) {
-                    String line;
-                    long endTime = System.currentTimeMillis() + maxTime.toMillis();
-                    // Here extra check for maxTime to avoid edge case e.g. maxTime = 0 millis
-                    while (System.currentTimeMillis() < endTime
-                            && eventList.size() < maxEvents
-                            && (line = reader.readLine()) != null) {
-
-                        line = line.trim();
-
-                        if (!line.isEmpty()) {
-                            eventList.add(line);
-                        }
-                    }
-                } catch (IOException e) {
-                    throw new CompletionException(e);
-                }
-            }).orTimeout(maxTime.toMillis(), TimeUnit.MILLISECONDS).get(); //NOTE: Keeping track of overall timeOut.
-        } catch (Exception e) {
-            if (!(e.getCause() instanceof TimeoutException)) {
-                throw new IOException("Exception Occurred during async stream processing ", e);
+            if (!abandoned.awaitIdle(Math.max(0, timeoutNanos))) {
+                return false;
             }
-            //Adding log as reached the time limit.
-            LOGGER.log(Level.FINE, "Maximum Time limit reached");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a reader of a previous call");
         }
-
-        return eventList;
+        abandonedReaders.remove(source, abandoned);
+        return true;
     }
 
-
     /**
-     * This function takes the raw event Lists and filter it according to Temperature zone (excluding chilled articles).
-     * And return list of events into deserialized form (Event model).
-     *
-     * @param jsonEventList - List of Events in JSON.
-     * @return List<Event> - List of Filterd Events.
-     * @throws IOException
+     * Detaches the readers of a finished call from its source, remembering the view of the source if a reader is
+     * still blocked reading it.
      */
-    private List<Event> convertToEventAndFilter(final List<String> jsonEventList) throws IOException {
-        List<Event> eventList = new ArrayList<>();
-        Set<TemperatureZone> excludedTemperatureZones = AppConfigUtils.getExcludedTemperatureZoneConfig();
+    private void detach(final InputStream source, final DetachableInputStream view) {
+        view.detach();
+        if (view.isBusy()) {
+            abandonedReaders.put(source, view);
+        }
+    }
 
-        for (String json : jsonEventList) {
-            Event event = JsonUtils.deserialize(json, Event.class);
+    /**
+     * This function runs a process call: the given reading stage fills a grouping, which is then sorted and written
+     * to the sink. The grouping, filter of duplicates and writer are leased from the arena of this processor, so
+     * consecutive calls reuse their storage, unless a reader abandoned at the deadline may still use it.
+     */
+    private void process(final OutputStream sink, final ReadStage readStage) throws IOException {
+        AppConfig config = configWatcher.current();
+        boolean timed = metrics.isEnabled();
+        BatchStats stats = new BatchStats();
+        long processStart = timed ? System.nanoTime() : 0;
+        try (ProcessorArena.Lease lease = arena.acquire()) {
+            PickGrouping grouping = lease.grouping(config);
+            if (!readStage.read(config, lease.idFilter(config), grouping, stats, timed)) {
+                lease.abandon();
+            }
+            long sortStart = timed ? System.nanoTime() : 0;
+            if (timed) {
+                stats.addNanos(ProcessorMetrics.Stage.READ, sortStart - processStart);
+            }
+            Iterable<?> sortedResult = grouping.sortedResult();
 
-            if (!excludedTemperatureZones.contains(event.getArticle().getTemperatureZone())) {
-                eventList.add(event);
+            //Serialization of Result straight to the output stream
+            long writeStart = timed ? System.nanoTime() : 0;
+            if (timed) {
+                stats.addNanos(ProcessorMetrics.Stage.SORT, writeStart - sortStart);
+            }
+            lease.writer(config).write(sortedResult, sink);
+            if (timed) {
+                stats.addNanos(ProcessorMetrics.Stage.WRITE, System.nanoTime() - writeStart);
+            }
+        } catch (IOException e) {
+            stats.parseFailure = e instanceof JsonProcessingException || e.getCause() instanceof JsonProcessingException;
+            throw e;
+        } finally {
+            if (timed) {
+                stats.addNanos(ProcessorMetrics.Stage.PROCESS, System.nanoTime() - processStart);
             }
+            metrics.record(stats);
         }
-        return eventList;
     }
 
     /**
-     * Group Events per Picker and returns List of Picker(dto).
+     * Continuous mode: this function processes the source as back-to-back tumbling windows until its end, writing a
+     * result document per window. A window closes once it holds maxEvents events or maxTime after the previous
+     * window closed, whichever comes first. Unlike repeated {@link #process} calls, a single reader stays open, so
+     * no buffered input is lost between windows. Compressed input is detected as in {@link #process}.
      *
-     * @param eventList - List of filtered Event.
-     * @return List<Picker> - List of Picker (dto)
+     * @param source  The source of data to be processed.
+     * @param sink    The sink to which the results are sent, one document per window.
+     * @param framing How to delimit the documents of consecutive windows.
+     * @throws IOException
      */
+    public void processContinuously(final InputStream source, final OutputStream sink, final WindowFraming framing)
+            throws IOException {
+        if (Objects.isNull(source) || Objects.isNull(sink) || Objects.isNull(framing)) {
+            throw new IllegalArgumentException("I/O streams and framing should not be null.");
+        }
+        try (DecompressingInputStream input = new DecompressingInputStream(source, readerPool)) {
+            new TumblingWindowProcessor(maxEvents, maxTimeNanos, outputMode, context).process(input, sink, framing);
+        }
+    }
 
-    private List<Picker> toPickers(final List<Event> eventList) {
-
-        Map<String, Picker> groupedByPickerId = new HashMap<>();
+    /**
+     * @return PickGrouping - an empty grouping of the given mode, spilling picks to disk beyond the configured heap
+     * budget if any. Summaries take fixed memory per picker, so they are never spilled.
+     */
+    static PickGrouping newGrouping(final AppConfig config, final OutputMode outputMode) {
+        return outputMode == OutputMode.PICKS && config.getSpillHeapBudgetBytes() > 0
+                ? new PickGrouping(new PickSpill(config.getSpillDirectory(), config.getSpillHeapBudgetBytes()),
+                        outputMode)
+                : new PickGrouping(null, outputMode);
+    }
 
-        for (Event event : eventList) {
-            String pickerId = event.getPicker().getId();
-            //Here taking care of upperCasing of articles.
-            Picker.PickItem pickItem = new Picker.PickItem(event.getArticle().getName().toUpperCase(), event.getTimestamp());
+    /**
+     * @return EventIdFilter - a filter of duplicate events within the configured memory budget, or {@code null} if
+     * duplicates are kept.
+     */
+    static EventIdFilter newIdFilter(final AppConfig config) {
+        return config.getDedupMemoryBudgetBytes() > 0 ? new EventIdFilter(config.getDedupMemoryBudgetBytes()) : null;
+    }
 
-            if (groupedByPickerId.containsKey(pickerId)) {
-                groupedByPickerId.get(pickerId).getPickItemList().add(pickItem);
-            } else {
-                Picker picker = new Picker(pickerId, event.getPicker().getName(), event.getPicker().getActiveSince());
-                picker.getPickItemList().add(pickItem);
-                groupedByPickerId.put(pickerId, picker);
+    /**
+     * This Function decodes events from the input stream with respect to maxTime and maxEvent whichever
+     * comes first, filters them according to Temperature zone (excluding chilled articles) and groups the accepted
+     * ones per picker.
+     * Every non-blank line counts towards maxEvents, including the excluded events and dropped duplicates; blank
+     * keep-alive lines do not.
+     * Reading from the stream is a blocking operation , so to overcome this, we read the stream on a thread of the
+     * factory's reader pool and wait for it at most until the deadline. At the deadline the batch is sealed, so the
+     * reader cannot modify it anymore, and the reader is cancelled. Cancelling only interrupts the reader, so a
+     * reader blocked on a source which ignores interrupts, such as {@code System.in}, keeps its thread until its read
+     * returns; the caller detaches the source so that it stops there.
+     *
+     * @param source                   InputStream
+     * @param excludedTemperatureZones Zones whose events are skipped while decoding.
+     * @param idFilter                 Filter of duplicate events, or {@code null} to keep them all.
+     * @param timeoutNanos             Maximum time to read for, in nanoseconds.
+     * @param grouping                 Grouping to add the picks of the Filtered Events to.
+     * @param stats                    Statistics of the batch.
+     * @param timed                    Whether to time decoding and grouping.
+     * @return boolean - whether the reader is done; {@code false} if it was abandoned while still running.
+     * @throws IOException
+     */
+    private boolean doProcess(final InputStream source,
+                           final Set<TemperatureZone> excludedTemperatureZones,
+                           final EventIdFilter idFilter,
+                           final long timeoutNanos,
+                           final PickGrouping grouping,
+                           final BatchStats stats,
+                           final boolean timed) throws IOException {
+        long startTime = System.nanoTime();
+        PickBatch batch = new PickBatch(grouping);
+        CountDownLatch readerDone = new CountDownLatch(1);
+        Future<BatchStats.EndReason> reading = readerPool.submit(() -> {
+            try {
+                return readEvents(
+                        source, excludedTemperatureZones, idFilter, batch, startTime, timeoutNanos, stats, timed);
+            } finally {
+                readerDone.countDown();
             }
+        });
+
+        try {
+            stats.endReason = reading.get(
+                    Math.max(0, timeoutNanos - (System.nanoTime() - startTime)), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            reading.cancel(true);
+            stats.endReason = BatchStats.EndReason.MAX_TIME;
+            //Adding log as reached the time limit.
+            LOGGER.log(Level.FINE, "Maximum Time limit reached");
+        } catch (ExecutionException e) {
+            throw new IOException("Exception Occurred during async stream processing ", e.getCause());
+        } catch (InterruptedException e) {
+            reading.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for events");
         }
 
-        return new ArrayList<>(groupedByPickerId.values());
+        batch.seal();
+        return readerDone.getCount() == 0;
     }
 
     /**
-     * This function takes List of Picker(dto) and sort Pickers chronologically(ascending) based on activeSince timestamp,
-     * breaking ties by ID. It also sorts items picked by pickers chronologically(ascending) based on timestamp.
-     * Then returns the serialized value of the sorted collection.
+     * This function runs on a reader thread and adds picks of decoded events to the batch until maxEvents or maxTime has been
+     * reached, the source is exhausted or the batch has been sealed. The source is cut into lines by a
+     * {@link LineFramer}, as the parallel reader cuts it, so events count towards maxEvents alike on both paths: every
+     * non-blank line is one event, whether it holds a single JSON value, several, or part of one.
      *
-     * @param pickers List of Picker(Dto)
-     * @return List<Picker> - List of Sorted Picker (dto)
+     * @return EndReason - why reading ended; published to the calling thread through the future of the reader.
      */
-    private List<Picker> sortPickerAndPicks(final List<Picker> pickers) {
-        //Sorting of Picker object firstly by active since and secondly by picker id
-        pickers.sort(Comparator.comparing(Picker::getActiveSince).thenComparing(Picker::getId));
+    private BatchStats.EndReason readEvents(final InputStream source,
+                                            final Set<TemperatureZone> excludedTemperatureZones,
+                                            final EventIdFilter idFilter,
+                                            final PickBatch batch,
+                                            final long startTime,
+                                            final long timeoutNanos,
+                                            final BatchStats stats,
+                                            final boolean timed) throws IOException {
+        LineFramer framer = new LineFramer(source);
+        LineBatch lines = new LineBatch();
+        try {
+            int eventCount = 0;
+            boolean open = true;
+            // Here extra check for maxTime to avoid edge case e.g. maxTime = 0 millis
+            while (open && System.nanoTime() - startTime < timeoutNanos && eventCount < maxEvents
+                    && framer.next(maxEvents - eventCount, lines)) {
+                eventCount += lines.getEventCount();
+                open = addEvents(lines, excludedTemperatureZones, idFilter, batch, stats, timed);
+            }
+            return eventCount >= maxEvents ? BatchStats.EndReason.MAX_EVENTS
+                    : !open || System.nanoTime() - startTime >= timeoutNanos ? BatchStats.EndReason.MAX_TIME
+                    : BatchStats.EndReason.END_OF_INPUT;
+        } finally {
+            stats.linesRead = framer.getLineCount();
+            stats.keepAlives = framer.getKeepAliveCount();
+        }
+    }
 
-        //Sorting Picker's pick as per the timestamp
-        for (Picker picker : pickers) {
-            picker.getPickItemList().sort(Comparator.comparing(Picker.PickItem::getTimestamp));
+    /**
+     * This function decodes the given lines and adds the picks of their events to the batch.
+     *
+     * @return boolean - whether the batch is still open; {@code false} once it has been sealed.
+     */
+    private boolean addEvents(final LineBatch lines,
+                              final Set<TemperatureZone> excludedTemperatureZones,
+                              final EventIdFilter idFilter,
+                              final PickBatch batch,
+                              final BatchStats stats,
+                              final boolean timed) throws IOException {
+        try (EventDecoder decoder = new EventDecoder(
+                lines.getBytes(), 0, lines.getLength(), excludedTemperatureZones)) {
+            while (decoder.hasNext()) {
+                long decodeStart = timed ? System.nanoTime() : 0;
+                Event event = decoder.next();
+                long groupStart = timed ? System.nanoTime() : 0;
+                if (timed) {
+                    stats.addNanos(ProcessorMetrics.Stage.DECODE, groupStart - decodeStart);
+                }
+                if (batch.isSealed()) {
+                    // The batch is over, so the event must not reach the filter of duplicates any more.
+                    return false;
+                }
+                if (Objects.isNull(event)) {
+                    stats.eventsFiltered++;
+                } else if (Objects.nonNull(idFilter) && !idFilter.firstSeen(event.getId())) {
+                    stats.eventsDuplicated++;
+                } else if (addPick(batch, event)) {
+                    stats.eventsAccepted++;
+                } else {
+                    return false;
+                }
+                if (timed) {
+                    stats.addNanos(ProcessorMetrics.Stage.GROUP, System.nanoTime() - groupStart);
+                }
+            }
         }
-        return pickers;
+        return true;
     }
 
     /**
-     * This function take the final output data made in the process function and write it to given output stream.
+     * Adds the pick of the given event to the batch, referring to canonical picker and article name instances.
      *
-     * @param data Final data which intended to be written in output stream.
-     * @param sink Output stream
-     * @throws IOException
+     * @return boolean - whether the pick was added; {@code false} once the batch has been sealed.
+     */
+    private boolean addPick(final PickBatch batch, final Event event) throws IOException {
+        return batch.add(
+                interner.canonicalPicker(event.getPicker()),
+                interner.upperCaseName(event.getArticle()),
+                event.getTimestamp(),
+                event.getQuantity());
+    }
+
+    /**
+     * @return long - the part of maxTime left since the given {@link System#nanoTime()} value; non-positive maxTime
+     * is returned as is, so that it cannot overflow.
      */
+    private long remainingNanos(final long startTime) {
+        return maxTimeNanos <= 0 ? maxTimeNanos : maxTimeNanos - (System.nanoTime() - startTime);
+    }
 
-    private void writeToOutputStream(final String data, final OutputStream sink) throws IOException {
-        if (Objects.isNull(data) || data.isEmpty()) {
-            sink.write(new byte[0]); // To keep output json consistent in case of no result.
-        } else {
-            sink.write(data.getBytes(StandardCharsets.UTF_8));
+    /**
+     * Converts the given duration to nanoseconds, capping durations which do not fit in a long.
+     * Time is measured with {@link System#nanoTime()}, so the deadline is unaffected by wall-clock changes.
+     */
+    private static long toNanosSaturated(final Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
         }
     }
 
+    /**
+     * Reading stage of a process call, filling the grouping from its source or sources.
+     */
+    @FunctionalInterface
+    private interface ReadStage {
+        /**
+         * @return boolean - whether all readers are done; {@code false} if a reader abandoned at the deadline may
+         * still be running, and so still use the storage of the call.
+         */
+        boolean read(AppConfig config, EventIdFilter idFilter, PickGrouping grouping, BatchStats stats, boolean timed)
+                throws IOException;
+    }
 }
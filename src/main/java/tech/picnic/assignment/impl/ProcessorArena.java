@@ -0,0 +1,157 @@
+package tech.picnic.assignment.impl;
+
+import tech.picnic.assignment.utils.AppConfig;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Storage a processor reuses from one process call to the next: the grouping of the picks, with the maps and
+ * columns of its pickers, the filter of duplicates and the writer with its output buffer. Between batches they are
+ * reset rather than allocated anew, so a long-lived processor called in a tight loop keeps the young generation
+ * quiet.
+ *
+ * <p>Storage only shrinks when it is released, so after an unusually large batch it is dropped instead of reset:
+ * once a batch held more than {@link AppConfig#getArenaMaxRetainedPicks()} picks in memory, or more pickers than
+ * the interning layer retains, the next batch starts from an empty grouping. Storage built for a configuration is
+ * likewise rebuilt once a reloaded configuration changes its settings.
+ *
+ * <p>A process call leases the storage for its whole duration. A concurrent call on the same processor finds it
+ * leased, and gets storage of its own for that call. Storage is only given back once every reader of the call has
+ * been joined; storage a reader abandoned at the deadline may still use is released instead.
+ */
+final class ProcessorArena {
+
+    private final OutputMode mode;
+    private final AtomicReference<Lease> idle = new AtomicReference<>();
+
+    /**
+     * Constructor of ProcessorArena
+     *
+     * @param mode Output mode of the processor, and so of its groupings.
+     */
+    ProcessorArena(final OutputMode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * @return Lease - the idle storage of the processor, or new storage if it is leased already. Closing the lease
+     * resets the storage and gives it back.
+     */
+    Lease acquire() {
+        Lease lease = idle.getAndSet(null);
+        return Objects.nonNull(lease) ? lease : new Lease();
+    }
+
+    /**
+     * Storage of a single batch at a time. Not thread-safe.
+     */
+    final class Lease implements Closeable {
+        private PickGrouping grouping;
+        private long groupingSpillBudget;
+        private Path groupingSpillDirectory;
+        private EventIdFilter idFilter;
+        private long idFilterBudget;
+        private PickerResultWriter writer;
+        private AppConfig config;
+        private boolean abandoned;
+
+        private Lease() {
+        }
+
+        /**
+         * @return PickGrouping - an empty grouping, as {@link PickingStreamProcessor#newGrouping} would build for
+         * the given configuration.
+         * @throws IOException
+         */
+        PickGrouping grouping(final AppConfig config) throws IOException {
+            this.config = config;
+            if (Objects.nonNull(grouping) && (groupingSpillBudget != config.getSpillHeapBudgetBytes()
+                    || !groupingSpillDirectory.equals(config.getSpillDirectory()))) {
+                releaseGrouping();
+            }
+            if (Objects.isNull(grouping)) {
+                grouping = PickingStreamProcessor.newGrouping(config, mode);
+                groupingSpillBudget = config.getSpillHeapBudgetBytes();
+                groupingSpillDirectory = config.getSpillDirectory();
+            }
+            return grouping;
+        }
+
+        /**
+         * @return EventIdFilter - an empty filter of duplicates within the configured memory budget, or {@code null}
+         * if duplicates are kept.
+         */
+        EventIdFilter idFilter(final AppConfig config) {
+            if (idFilterBudget != config.getDedupMemoryBudgetBytes()) {
+                idFilter = PickingStreamProcessor.newIdFilter(config);
+                idFilterBudget = config.getDedupMemoryBudgetBytes();
+            }
+            return idFilter;
+        }
+
+        /**
+         * Marks the storage as still reachable from a reader abandoned at the deadline, which may yet consult the
+         * filter of duplicates. Closing the lease then releases the storage instead of making it the idle storage,
+         * so the next batch never shares it with that reader.
+         */
+        void abandon() {
+            abandoned = true;
+        }
+
+        /**
+         * @return PickerResultWriter - a writer with the configured output buffer size and flush interval.
+         */
+        PickerResultWriter writer(final AppConfig config) {
+            if (Objects.isNull(writer) || writer.getBufferSize() != config.getOutputBufferSize()
+                    || writer.getFlushInterval() != config.getOutputFlushInterval()) {
+                writer = new PickerResultWriter(config.getOutputBufferSize(), config.getOutputFlushInterval());
+            }
+            return writer;
+        }
+
+        /**
+         * Resets the storage for the next batch, dropping the grouping if the batch was unusually large, and makes
+         * it the idle storage of the processor. Storage which failed to reset, or which an abandoned reader may still
+         * use, is not reused.
+         *
+         * @throws IOException if spilled picks could not be deleted.
+         */
+        @Override
+        public void close() throws IOException {
+            if (abandoned) {
+                idFilter = null;
+                if (Objects.nonNull(grouping)) {
+                    releaseGrouping();
+                }
+                return;
+            }
+            if (Objects.nonNull(idFilter)) {
+                idFilter.reset();
+            }
+            if (Objects.nonNull(grouping)) {
+                if (grouping.picksInMemory() > config.getArenaMaxRetainedPicks()
+                        || grouping.pickerCount() > config.getInternMaxPickers()) {
+                    releaseGrouping();
+                } else {
+                    try {
+                        grouping.reset();
+                    } catch (IOException e) {
+                        grouping = null;
+                        throw e;
+                    }
+                }
+            }
+            idle.compareAndSet(null, this);
+        }
+
+        private void releaseGrouping() throws IOException {
+            PickGrouping released = grouping;
+            grouping = null;
+            released.close();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package tech.picnic.assignment.impl;
+
+import tech.picnic.assignment.utils.AppConfig;
+import tech.picnic.assignment.utils.AppConfigWatcher;
+
+/**
+ * Resources owned by a {@link PickingEventProcessorFactory} and shared by all processors it creates.
+ * Pool sizes, cache caps and whether metrics are gathered are taken from the configuration at construction; the
+ * configuration itself stays reloadable through {@link #getConfigWatcher()}.
+ */
+final class ProcessorContext implements AutoCloseable {
+
+    private final AppConfigWatcher configWatcher;
+    private final EventReaderPool readerPool = new EventReaderPool();
+    private final DecodeWorkerPool decodePool;
+    private final PickInterner interner;
+    private final ProcessorMetrics metrics;
+
+    ProcessorContext(final AppConfigWatcher configWatcher) {
+        this.configWatcher = configWatcher;
+        AppConfig config = configWatcher.current();
+        this.decodePool = new DecodeWorkerPool(config.getDecodeWorkers());
+        this.interner = new PickInterner(config.getInternMaxPickers(), config.getInternMaxArticles());
+        this.metrics = new ProcessorMetrics(config.isMetricsEnabled());
+        this.metrics.register();
+    }
+
+    AppConfigWatcher getConfigWatcher() {
+        return configWatcher;
+    }
+
+    EventReaderPool getReaderPool() {
+        return readerPool;
+    }
+
+    DecodeWorkerPool getDecodePool() {
+        return decodePool;
+    }
+
+    PickInterner getInterner() {
+        return interner;
+    }
+
+    ProcessorMetrics getMetrics() {
+        return metrics;
+    }
+
+    /** Shuts down the reader and decoder threads and unregisters the metrics. */
+    @Override
+    public void close() {
+        readerPool.close();
+        decodePool.close();
+        metrics.unregister();
+    }
+}
@@ -0,0 +1,204 @@
+package tech.picnic.assignment.impl;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Instrumentation shared by the processors of a factory. Processors gather the statistics of a process call in a
+ * {@link BatchStats} and hand it over once the call completes, so the hot loops never contend on shared counters.
+ *
+ * <p>When disabled, nothing is registered, {@link #isEnabled()} tells the processors to skip taking timestamps,
+ * and recording is a no-op.
+ */
+final class ProcessorMetrics implements ProcessorMetricsMXBean {
+
+    /**
+     * Measured stages of a process call.
+     */
+    enum Stage {
+        READ, DECODE, GROUP, SORT, WRITE, PROCESS
+    }
+
+    private static final String OBJECT_NAME = "tech.picnic.assignment:type=PickingStreamProcessor,name=factory-";
+    private static final AtomicInteger FACTORY_COUNT = new AtomicInteger();
+    private static final Logger LOGGER = Logger.getLogger(ProcessorMetrics.class.getName());
+
+    private final boolean enabled;
+    private final LongAdder linesRead = new LongAdder();
+    private final LongAdder keepAlives = new LongAdder();
+    private final LongAdder eventsAccepted = new LongAdder();
+    private final LongAdder eventsFiltered = new LongAdder();
+    private final LongAdder eventsDuplicated = new LongAdder();
+    private final LongAdder parseFailures = new LongAdder();
+    private final LongAdder processCalls = new LongAdder();
+    private final Map<BatchStats.EndReason, LongAdder> endReasons = new EnumMap<>(BatchStats.EndReason.class);
+    private final Map<Stage, LatencyHistogram> latencies = new EnumMap<>(Stage.class);
+    private volatile BatchStats.EndReason lastEndReason;
+    private ObjectName objectName;
+
+    ProcessorMetrics(final boolean enabled) {
+        this.enabled = enabled;
+        for (BatchStats.EndReason reason : BatchStats.EndReason.values()) {
+            endReasons.put(reason, new LongAdder());
+        }
+        for (Stage stage : Stage.values()) {
+            latencies.put(stage, new LatencyHistogram());
+        }
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * This function registers the metrics with the platform MBean server, if enabled. Failing to register only
+     * disables the JMX view; the metrics are still gathered.
+     */
+    void register() {
+        if (!enabled) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        while (objectName == null) {
+            try {
+                ObjectName name = new ObjectName(OBJECT_NAME + FACTORY_COUNT.incrementAndGet());
+                server.registerMBean(this, name);
+                objectName = name;
+            } catch (InstanceAlreadyExistsException e) {
+                // Taken by a factory of another class loader; try the next name.
+            } catch (JMException e) {
+                LOGGER.log(Level.WARNING, "Could not register processor metrics", e);
+                return;
+            }
+        }
+    }
+
+    void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            LOGGER.log(Level.FINE, "Could not unregister processor metrics", e);
+        }
+        objectName = null;
+    }
+
+    /**
+     * This function adds the statistics and latencies of a completed process call.
+     *
+     * @param stats Statistics of the call.
+     */
+    void record(final BatchStats stats) {
+        if (!enabled) {
+            return;
+        }
+        linesRead.add(stats.linesRead);
+        keepAlives.add(stats.keepAlives);
+        eventsAccepted.add(stats.eventsAccepted);
+        eventsFiltered.add(stats.eventsFiltered);
+        eventsDuplicated.add(stats.eventsDuplicated);
+        if (stats.parseFailure) {
+            parseFailures.increment();
+        }
+        processCalls.increment();
+        if (stats.endReason != null) {
+            endReasons.get(stats.endReason).increment();
+            lastEndReason = stats.endReason;
+        }
+        for (Stage stage : Stage.values()) {
+            long nanos = stats.nanosOf(stage);
+            if (nanos >= 0) {
+                latencies.get(stage).record(nanos);
+            }
+        }
+    }
+
+    @Override
+    public long getLinesRead() {
+        return linesRead.sum();
+    }
+
+    @Override
+    public long getKeepAlives() {
+        return keepAlives.sum();
+    }
+
+    @Override
+    public long getEventsAccepted() {
+        return eventsAccepted.sum();
+    }
+
+    @Override
+    public long getEventsFiltered() {
+        return eventsFiltered.sum();
+    }
+
+    @Override
+    public long getEventsDuplicated() {
+        return eventsDuplicated.sum();
+    }
+
+    @Override
+    public long getParseFailures() {
+        return parseFailures.sum();
+    }
+
+    @Override
+    public long getProcessCalls() {
+        return processCalls.sum();
+    }
+
+    @Override
+    public long getBatchesEndedOnMaxEvents() {
+        return endReasons.get(BatchStats.EndReason.MAX_EVENTS).sum();
+    }
+
+    @Override
+    public long getBatchesEndedOnMaxTime() {
+        return endReasons.get(BatchStats.EndReason.MAX_TIME).sum();
+    }
+
+    @Override
+    public long getBatchesEndedOnEndOfInput() {
+        return endReasons.get(BatchStats.EndReason.END_OF_INPUT).sum();
+    }
+
+    @Override
+    public String getLastEndReason() {
+        BatchStats.EndReason reason = lastEndReason;
+        return reason == null ? null : reason.name();
+    }
+
+    @Override
+    public Map<String, LatencySummary> getLatencies() {
+        Map<String, LatencySummary> summaries = new LinkedHashMap<>();
+        latencies.forEach((stage, histogram) -> summaries.put(stage.name(), histogram.summarize()));
+        return summaries;
+    }
+
+    @Override
+    public void reset() {
+        linesRead.reset();
+        keepAlives.reset();
+        eventsAccepted.reset();
+        eventsFiltered.reset();
+        eventsDuplicated.reset();
+        parseFailures.reset();
+        processCalls.reset();
+        endReasons.values().forEach(LongAdder::reset);
+        latencies.values().forEach(LatencyHistogram::reset);
+        lastEndReason = null;
+    }
+}
@@ -0,0 +1,57 @@
+package tech.picnic.assignment.impl;
+
+import java.util.Map;
+
+/**
+ * Management interface of the instrumentation of the processors created by a {@link PickingEventProcessorFactory}.
+ * Counters are totals over all process calls since the factory was created.
+ *
+ * <p>Latencies are kept per process call and per stage of it. READ is the reading phase up to the deadline or the
+ * end of the batch; DECODE and GROUP are the time spent within it on binding events and on grouping picks. In
+ * single-threaded mode, DECODE includes waiting for input, as bytes are read while decoding; with decode workers,
+ * DECODE and GROUP are summed over the workers. SORT and WRITE follow the reading phase, and PROCESS spans the
+ * whole call.
+ */
+public interface ProcessorMetricsMXBean {
+
+    /**
+     * @return long - input lines read, keep-alive lines included, as counted by the reader framing or decoding them.
+     */
+    long getLinesRead();
+
+    long getKeepAlives();
+
+    long getEventsAccepted();
+
+    long getEventsFiltered();
+
+    /**
+     * @return long - events dropped as duplicates of an earlier event of the same batch, if deduplication is enabled.
+     */
+    long getEventsDuplicated();
+
+    long getParseFailures();
+
+    long getProcessCalls();
+
+    long getBatchesEndedOnMaxEvents();
+
+    long getBatchesEndedOnMaxTime();
+
+    long getBatchesEndedOnEndOfInput();
+
+    /**
+     * @return String - why the reading phase of the last completed batch ended; {@code null} before the first one.
+     */
+    String getLastEndReason();
+
+    /**
+     * @return Map<String, LatencySummary> - latencies keyed by stage name.
+     */
+    Map<String, LatencySummary> getLatencies();
+
+    /**
+     * Resets all counters and latencies.
+     */
+    void reset();
+}
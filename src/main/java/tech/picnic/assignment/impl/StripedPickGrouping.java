@@ -0,0 +1,94 @@
+package tech.picnic.assignment.impl;
+
+import tech.picnic.assignment.models.Picker;
+
+import java.io.IOException;
+
+/**
+ * Grouping which several threads can add picks to at once. Pickers are sharded by the hash of their id over a
+ * fixed number of stripes, each a {@link PickBatch} with a lock of its own, so threads only contend when they add
+ * picks of pickers of the same stripe. All picks of a picker go to the same stripe, so they keep the order in which
+ * they were added, and the picker metadata of the first pick added wins, as in a plain {@link PickGrouping}.
+ *
+ * <p>When threads add picks concurrently, the order in which they are added depends on thread scheduling rather
+ * than on the order of the input. So if the name or active_since of a picker changes within the input, which of its
+ * values ends up in the result is nondeterministic; so is the order of picks of a picker with equal timestamps.
+ * Input in which the metadata of each picker stays the same gives the same result however picks interleave.
+ *
+ * <p>Once the grouping has been sealed, after all threads are done or have been abandoned, the stripes are drained
+ * into a single grouping, which sorts and writes the result as usual. Stripes never spill, so striping is meant for
+ * groupings held in memory, or for summaries.
+ */
+final class StripedPickGrouping {
+
+    private static final int STRIPES_PER_THREAD = 4;
+
+    private final PickBatch[] stripes;
+    private final int mask;
+
+    /**
+     * Constructor of StripedPickGrouping
+     *
+     * @param threads Number of threads expected to add picks concurrently.
+     * @param mode    Whether to keep the picks, or summaries of them; the mode of the grouping to drain into.
+     */
+    StripedPickGrouping(final int threads, final OutputMode mode) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads should be positive.");
+        }
+        int stripeCount = Integer.highestOneBit(Math.max(1, threads * STRIPES_PER_THREAD - 1)) << 1;
+        this.stripes = new PickBatch[stripeCount];
+        this.mask = stripeCount - 1;
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new PickBatch(new PickGrouping(null, mode));
+        }
+    }
+
+    /**
+     * @return boolean - whether the pick was added; {@code false} once the grouping has been sealed, in which case
+     * the pick is lost, and a caller counting events has to leave it out of its count.
+     * @see PickGrouping#add(Picker, String, long, int)
+     */
+    boolean add(final Picker picker, final String articleName, final long timestamp, final int quantity)
+            throws IOException {
+        return stripeOf(picker).add(picker, articleName, timestamp, quantity);
+    }
+
+    /**
+     * Closes all stripes for further additions. Threads still adding picks see the grouping as sealed from then on.
+     */
+    void seal() {
+        for (PickBatch stripe : stripes) {
+            stripe.seal();
+        }
+    }
+
+    /**
+     * This function moves the picks of the grouping to the given grouping, stripe by stripe, emptying each stripe
+     * once moved. The grouping must have been sealed, so that no stripe changes while it is drained.
+     *
+     * @param target Grouping to add the picks to.
+     * @throws IOException
+     */
+    void drainTo(final PickGrouping target) throws IOException {
+        for (PickBatch stripe : stripes) {
+            if (!stripe.isSealed()) {
+                throw new IllegalStateException("The grouping should be sealed before it is drained.");
+            }
+        }
+        for (PickBatch stripe : stripes) {
+            PickGrouping grouping = stripe.seal();
+            target.addAll(grouping);
+            grouping.reset();
+        }
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    private PickBatch stripeOf(final Picker picker) {
+        int hash = picker.getId().hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
@@ -0,0 +1,80 @@
+package tech.picnic.assignment.impl;
+
+import java.util.Arrays;
+
+/**
+ * Table of the strings a decoder has materialized, looked up by the characters in the buffer of its parser. Picker
+ * and article ids and names repeat across events, so a repeated value is found in the table instead of being copied
+ * into a new String per event, which would only be deduplicated by the {@link PickInterner} afterwards.
+ *
+ * <p>The table holds at most a fixed number of strings; once full, it starts over empty, so an input with an
+ * unbounded number of distinct values takes fixed memory. Not thread-safe; each codec has a table of its own.
+ */
+final class TextTable {
+
+    private final String[] strings;
+    private final int maxSize;
+    private int size;
+
+    /**
+     * Constructor of TextTable
+     *
+     * @param maxSize Maximum number of strings held.
+     */
+    TextTable(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum size should be positive.");
+        }
+        this.maxSize = maxSize;
+        // Power of two at least twice the maximum size, keeping probe sequences short.
+        this.strings = new String[Integer.highestOneBit(maxSize) << 2];
+    }
+
+    /**
+     * @param chars  Buffer holding the text.
+     * @param offset Offset of the text in the buffer.
+     * @param length Length of the text.
+     * @return String - the string of the given text held by the table, materialized only if it was not held yet.
+     */
+    String get(final char[] chars, final int offset, final int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int mask = strings.length - 1;
+        for (int slot = (hash ^ (hash >>> 16)) & mask; ; slot = (slot + 1) & mask) {
+            String string = strings[slot];
+            if (string == null) {
+                break;
+            }
+            if (matches(string, chars, offset, length)) {
+                return string;
+            }
+        }
+
+        if (size == maxSize) {
+            Arrays.fill(strings, null);
+            size = 0;
+        }
+        String string = new String(chars, offset, length);
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (strings[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        strings[slot] = string;
+        size++;
+        return string;
+    }
+
+    private static boolean matches(final String string, final char[] chars, final int offset, final int length) {
+        if (string.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (string.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,331 @@
+package tech.picnic.assignment.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import tech.picnic.assignment.models.Event;
+import tech.picnic.assignment.models.TemperatureZone;
+import tech.picnic.assignment.utils.AppConfig;
+import tech.picnic.assignment.utils.AppConfigWatcher;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Continuous mode of a {@link PickingStreamProcessor}: a single reader decodes the source from start to end, while
+ * its events are cut into back-to-back tumbling windows. A window closes once it holds maxEvents events or maxTime
+ * after the previous window closed, whichever comes first, and its result is written as a document of its own.
+ *
+ * <p>Two groupings take turns: the reader fills one while the result of the other is written. A written grouping is
+ * reset and becomes the next spare, so windows reuse their storage. The reader waits while a full window has not
+ * been swapped yet, so every window holds at most maxEvents events and no input is dropped between windows.
+ */
+final class TumblingWindowProcessor {
+
+    private final int maxEvents;
+    private final long maxTimeNanos;
+    private final EventReaderPool readerPool;
+    private final AppConfigWatcher configWatcher;
+    private final PickInterner interner;
+    private final ProcessorMetrics metrics;
+    private final OutputMode outputMode;
+
+    TumblingWindowProcessor(final int maxEvents,
+                            final long maxTimeNanos,
+                            final OutputMode outputMode,
+                            final ProcessorContext context) {
+        if (maxEvents <= 0 || maxTimeNanos <= 0) {
+            throw new IllegalArgumentException("MaxEvents and maxTime should be positive in continuous mode.");
+        }
+        this.maxEvents = maxEvents;
+        this.maxTimeNanos = maxTimeNanos;
+        this.readerPool = context.getReaderPool();
+        this.configWatcher = context.getConfigWatcher();
+        this.interner = context.getInterner();
+        this.metrics = context.getMetrics();
+        this.outputMode = outputMode;
+    }
+
+    /**
+     * This function processes the source window by window until its end, writing one result document per window.
+     * A final window closed by the end of input is only written if it holds events, or if it is the only window.
+     * The configuration is taken at the start and applies to all windows.
+     *
+     * @param source  InputStream
+     * @param sink    OutputStream; left open.
+     * @param framing How to delimit the documents of consecutive windows.
+     * @throws IOException
+     */
+    void process(final InputStream source, final OutputStream sink, final WindowFraming framing) throws IOException {
+        AppConfig config = configWatcher.current();
+        PickerResultWriter writer =
+                new PickerResultWriter(config.getOutputBufferSize(), config.getOutputFlushInterval());
+        DocumentSink documentSink = new DocumentSink(sink, framing);
+        boolean timed = metrics.isEnabled();
+
+        try (PickGrouping first = PickingStreamProcessor.newGrouping(config, outputMode);
+             PickGrouping second = PickingStreamProcessor.newGrouping(config, outputMode)) {
+            WindowHandoff handoff = new WindowHandoff(
+                    new Window(first, PickingStreamProcessor.newIdFilter(config)),
+                    new Window(second, PickingStreamProcessor.newIdFilter(config)));
+            Future<?> reading = readerPool.submit(() ->
+                    readEvents(source, config.getExcludedTemperatureZones(), handoff, timed));
+
+            try {
+                long windowStart = System.nanoTime();
+                for (int windowCount = 0; ; windowCount++) {
+                    Window window = handoff.awaitClose(windowStart + maxTimeNanos);
+                    if (handoff.hasFailed()) {
+                        break;
+                    }
+                    long sortStart = System.nanoTime();
+                    window.stats.addNanos(ProcessorMetrics.Stage.READ, sortStart - windowStart);
+                    windowStart = sortStart;
+
+                    boolean endOfInput = window.stats.endReason == BatchStats.EndReason.END_OF_INPUT;
+                    if (!endOfInput || window.eventCount > 0 || windowCount == 0) {
+                        write(window, writer, documentSink, sortStart);
+                    }
+                    window.reset();
+                    handoff.recycle(window);
+                    if (endOfInput) {
+                        break;
+                    }
+                }
+                reading.get();
+            } catch (ExecutionException e) {
+                BatchStats failure = new BatchStats();
+                failure.parseFailure = e.getCause() instanceof JsonProcessingException;
+                metrics.record(failure);
+                throw new IOException("Exception Occurred during async stream processing ", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for events");
+            } finally {
+                handoff.stop();
+                reading.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Writes the result document of a closed window. A window counts as a process call in the metrics, spanning
+     * from the close of the previous window up to the end of its document.
+     */
+    private void write(final Window window,
+                       final PickerResultWriter writer,
+                       final DocumentSink documentSink,
+                       final long sortStart) throws IOException {
+        BatchStats stats = window.stats;
+        try {
+            Iterable<?> sortedResult = window.grouping.sortedResult();
+            long writeStart = System.nanoTime();
+            stats.addNanos(ProcessorMetrics.Stage.SORT, writeStart - sortStart);
+            writer.write(sortedResult, documentSink.startDocument());
+            documentSink.endDocument();
+            long writeEnd = System.nanoTime();
+            stats.addNanos(ProcessorMetrics.Stage.WRITE, writeEnd - writeStart);
+            stats.addNanos(ProcessorMetrics.Stage.PROCESS,
+                    stats.nanosOf(ProcessorMetrics.Stage.READ) + writeEnd - sortStart);
+        } finally {
+            metrics.record(stats);
+        }
+    }
+
+    /**
+     * This function runs on a reader thread and adds picks of decoded events to the open window until the source is
+     * exhausted or the processing has stopped.
+     */
+    private Void readEvents(final InputStream source,
+                            final Set<TemperatureZone> excludedTemperatureZones,
+                            final WindowHandoff handoff,
+                            final boolean timed) throws IOException, InterruptedException {
+        try (EventDecoder decoder = new EventDecoder(source, excludedTemperatureZones)) {
+            int line = 0;
+            while (decoder.hasNext()) {
+                Event event = decoder.next();
+                int lines = 0;
+                if (timed) {
+                    // Keep-alive lines are whitespace to the decoder, so they show as skipped line numbers.
+                    int eventLine = decoder.lineNumber();
+                    lines = eventLine - line;
+                    line = eventLine;
+                }
+                if (!handoff.add(event, lines)) {
+                    return null;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            handoff.fail();
+            throw e;
+        } finally {
+            handoff.end();
+        }
+        return null;
+    }
+
+    /**
+     * Window being filled or written, with the grouping it owns while it is in use.
+     */
+    private static final class Window {
+        private final PickGrouping grouping;
+        private final EventIdFilter idFilter;
+        private BatchStats stats = new BatchStats();
+        private int eventCount;
+
+        private Window(final PickGrouping grouping, final EventIdFilter idFilter) {
+            this.grouping = grouping;
+            this.idFilter = idFilter;
+        }
+
+        private void reset() throws IOException {
+            grouping.reset();
+            if (Objects.nonNull(idFilter)) {
+                idFilter.reset();
+            }
+        }
+    }
+
+    /**
+     * Handoff of windows between the reader and the processing thread. The reader adds to the open window; the
+     * processing thread closes it and opens the spare one in its place.
+     */
+    private final class WindowHandoff {
+        private Window open;
+        private Window spare;
+        private boolean full;
+        private boolean endOfInput;
+        private boolean failed;
+        private boolean stopped;
+
+        private WindowHandoff(final Window open, final Window spare) {
+            this.open = open;
+            this.spare = spare;
+        }
+
+        /**
+         * Adds the pick of the given event, or just counts it if it was filtered or duplicated, waiting while the
+         * open window is full.
+         *
+         * @param lines Number of lines read up to and including the line of the event, since the previous event.
+         * @return boolean - {@code false} once the processing has stopped.
+         */
+        private synchronized boolean add(final Event event, final int lines)
+                throws IOException, InterruptedException {
+            while (full && !stopped) {
+                wait();
+            }
+            if (stopped) {
+                return false;
+            }
+            open.stats.linesRead += lines;
+            open.stats.keepAlives += Math.max(0, lines - 1);
+            if (Objects.isNull(event)) {
+                open.stats.eventsFiltered++;
+            } else if (Objects.nonNull(open.idFilter) && !open.idFilter.firstSeen(event.getId())) {
+                open.stats.eventsDuplicated++;
+            } else {
+                open.grouping.add(
+                        interner.canonicalPicker(event.getPicker()),
+                        interner.upperCaseName(event.getArticle()),
+                        event.getTimestamp(),
+                        event.getQuantity());
+                open.stats.eventsAccepted++;
+            }
+            if (++open.eventCount == maxEvents) {
+                full = true;
+                notifyAll();
+            }
+            return true;
+        }
+
+        private synchronized void end() {
+            endOfInput = true;
+            notifyAll();
+        }
+
+        private synchronized void fail() {
+            failed = true;
+        }
+
+        private synchronized boolean hasFailed() {
+            return failed;
+        }
+
+        /**
+         * Waits until the open window is full, the input has ended or the deadline has passed, then closes the
+         * window and opens the spare one.
+         *
+         * @return Window - the closed window.
+         */
+        private synchronized Window awaitClose(final long deadlineNanos) throws InterruptedException {
+            long remaining;
+            while (!full && !endOfInput && (remaining = deadlineNanos - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+
+            Window closed = open;
+            closed.stats.endReason = full ? BatchStats.EndReason.MAX_EVENTS
+                    : endOfInput ? BatchStats.EndReason.END_OF_INPUT
+                    : BatchStats.EndReason.MAX_TIME;
+            open = spare;
+            spare = null;
+            full = false;
+            notifyAll();
+            return closed;
+        }
+
+        /**
+         * Makes the given written, reset window the spare one.
+         */
+        private synchronized void recycle(final Window window) {
+            window.stats = new BatchStats();
+            window.eventCount = 0;
+            spare = window;
+        }
+
+        private synchronized void stop() {
+            stopped = true;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Sink of consecutive result documents, delimiting them as requested.
+     */
+    private static final class DocumentSink {
+        private final OutputStream sink;
+        private final WindowFraming framing;
+        private final ByteArrayOutputStream document = new ByteArrayOutputStream();
+
+        private DocumentSink(final OutputStream sink, final WindowFraming framing) {
+            this.sink = sink;
+            this.framing = framing;
+        }
+
+        private OutputStream startDocument() {
+            if (framing == WindowFraming.LENGTH_PREFIXED) {
+                document.reset();
+                return document;
+            }
+            return sink;
+        }
+
+        private void endDocument() throws IOException {
+            if (framing == WindowFraming.LENGTH_PREFIXED) {
+                new DataOutputStream(sink).writeInt(document.size());
+                document.writeTo(sink);
+            } else {
+                sink.write('\n');
+            }
+            sink.flush();
+        }
+    }
+}
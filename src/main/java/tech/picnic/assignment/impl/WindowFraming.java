@@ -0,0 +1,17 @@
+package tech.picnic.assignment.impl;
+
+/**
+ * How the result documents of consecutive windows are delimited in the sink, in continuous mode.
+ */
+public enum WindowFraming {
+    /**
+     * Every document is followed by a newline. Documents are written in compact form, so they contain no newlines
+     * themselves.
+     */
+    NEWLINE_DELIMITED,
+
+    /**
+     * Every document is preceded by its length in bytes, as a 4-byte big-endian integer.
+     */
+    LENGTH_PREFIXED
+}
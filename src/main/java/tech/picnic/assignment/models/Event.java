@@ -2,13 +2,14 @@ package tech.picnic.assignment.models;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import tech.picnic.assignment.utils.IsoTimestamps;
 
-import java.util.Date;
 import java.util.Objects;
 
 public final class Event {
     private final String id;
-    private final Date timestamp;
+    private final long timestamp;
     private final Picker picker;
     private final Article article;
     private final int quantity;
@@ -17,7 +18,7 @@ public final class Event {
      * Constructor to create instance of an Event
      *
      * @param id        Id of the Event
-     * @param timestamp Timestamp of the Event
+     * @param timestamp Timestamp of the Event, in epoch milliseconds
      * @param picker    See Picker Class
      * @param article   See Article Class
      * @param quantity  Quantity
@@ -25,7 +26,8 @@ public final class Event {
 
     @JsonCreator
     public Event(@JsonProperty("id") final String id,
-                 @JsonProperty("timestamp") final Date timestamp,
+                 @JsonProperty("timestamp") @JsonDeserialize(using = IsoTimestamps.Deserializer.class)
+                 final Long timestamp,
                  @JsonProperty("picker") final Picker picker,
                  @JsonProperty("article") final Article article,
                  @JsonProperty("quantity") final int quantity) {
@@ -40,7 +42,10 @@ public final class Event {
         return id;
     }
 
-    public Date getTimestamp() {
+    /**
+     * @return long - timestamp of the Event, in epoch milliseconds.
+     */
+    public long getTimestamp() {
         return timestamp;
     }
 
@@ -62,8 +67,8 @@ public final class Event {
         if (o == null || getClass() != o.getClass()) return false;
         Event event = (Event) o;
         return quantity == event.quantity &&
+                timestamp == event.timestamp &&
                 id.equals(event.id) &&
-                timestamp.equals(event.timestamp) &&
                 picker.equals(event.picker) &&
                 article.equals(event.article);
     }
@@ -77,7 +82,7 @@ public final class Event {
     public String toString() {
         return "Event{" +
                 "id='" + id + '\'' +
-                ", timestamp=" + timestamp +
+                ", timestamp=" + IsoTimestamps.format(timestamp) +
                 ", picker=" + picker +
                 ", article=" + article +
                 ", quantity=" + quantity +
@@ -2,14 +2,15 @@ package tech.picnic.assignment.models;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import tech.picnic.assignment.utils.IsoTimestamps;
 
-import java.util.Date;
 import java.util.Objects;
 
 public final class Picker {
     private final String id;
     private final String name;
-    private final Date activeSince;
+    private final long activeSince;
 
 
     /**
@@ -17,13 +18,14 @@ public final class Picker {
      *
      * @param id          id of the Picker.
      * @param name        Name of the Picker.
-     * @param activeSince Picker activation timestamp.
+     * @param activeSince Picker activation timestamp, in epoch milliseconds.
      */
 
     @JsonCreator
     public Picker(@JsonProperty("id") final String id,
                   @JsonProperty("name") final String name,
-                  @JsonProperty("active_since") final Date activeSince) {
+                  @JsonProperty("active_since") @JsonDeserialize(using = IsoTimestamps.Deserializer.class)
+                  final Long activeSince) {
         this.id = Objects.requireNonNull(id, "Id should not be null");
         this.name = Objects.requireNonNull(name, "Name should not be null");
         this.activeSince = Objects.requireNonNull(activeSince, "ActiveSince should not be null");
@@ -37,7 +39,10 @@ public final class Picker {
         return name;
     }
 
-    public Date getActiveSince() {
+    /**
+     * @return long - Picker activation timestamp, in epoch milliseconds.
+     */
+    public long getActiveSince() {
         return activeSince;
     }
 
@@ -46,9 +51,9 @@ public final class Picker {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Picker picker = (Picker) o;
-        return id.equals(picker.id) &&
-                name.equals(picker.name) &&
-                activeSince.equals(picker.activeSince);
+        return activeSince == picker.activeSince &&
+                id.equals(picker.id) &&
+                name.equals(picker.name);
     }
 
     @Override
@@ -61,7 +66,7 @@ public final class Picker {
         return "Picker{" +
                 "id='" + id + '\'' +
                 ", name='" + name + '\'' +
-                ", activeSince=" + activeSince +
+                ", activeSince=" + IsoTimestamps.format(activeSince) +
                 '}';
     }
 }
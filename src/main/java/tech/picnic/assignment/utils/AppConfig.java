@@ -0,0 +1,255 @@
+package tech.picnic.assignment.utils;
+
+import tech.picnic.assignment.models.TemperatureZone;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Immutable snapshot of the processor configuration.
+ */
+public final class AppConfig {
+
+    static final String EXCLUDED_TEMPERATURE_ZONES = "temperature_zone_excluded";
+    static final String OUTPUT_BUFFER_SIZE = "output_buffer_size";
+    static final String OUTPUT_FLUSH_INTERVAL = "output_flush_interval";
+    static final String INTERN_MAX_PICKERS = "intern_max_pickers";
+    static final String INTERN_MAX_ARTICLES = "intern_max_articles";
+    static final String DECODE_WORKERS = "decode_workers";
+    static final String SPILL_HEAP_BUDGET_BYTES = "spill_heap_budget_bytes";
+    static final String SPILL_DIRECTORY = "spill_directory";
+    static final String METRICS_ENABLED = "metrics_enabled";
+    static final String DEDUP_MEMORY_BUDGET_BYTES = "dedup_memory_budget_bytes";
+    static final String ARENA_MAX_RETAINED_PICKS = "arena_max_retained_picks";
+
+    private static final int DEFAULT_OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_OUTPUT_FLUSH_INTERVAL = 1_000;
+    private static final int DEFAULT_INTERN_MAX_PICKERS = 10_000;
+    private static final int DEFAULT_INTERN_MAX_ARTICLES = 100_000;
+    private static final int DEFAULT_DECODE_WORKERS = 1;
+    private static final long DEFAULT_SPILL_HEAP_BUDGET_BYTES = 0;
+    private static final long DEFAULT_DEDUP_MEMORY_BUDGET_BYTES = 0;
+    private static final int DEFAULT_ARENA_MAX_RETAINED_PICKS = 1_000_000;
+    private static final Logger LOGGER = Logger.getLogger(AppConfig.class.getName());
+
+    private final Set<TemperatureZone> excludedTemperatureZones;
+    private final int outputBufferSize;
+    private final int outputFlushInterval;
+    private final int internMaxPickers;
+    private final int internMaxArticles;
+    private final int decodeWorkers;
+    private final long spillHeapBudgetBytes;
+    private final Path spillDirectory;
+    private final boolean metricsEnabled;
+    private final long dedupMemoryBudgetBytes;
+    private final int arenaMaxRetainedPicks;
+
+    private AppConfig(final Set<TemperatureZone> excludedTemperatureZones,
+                      final int outputBufferSize,
+                      final int outputFlushInterval,
+                      final int internMaxPickers,
+                      final int internMaxArticles,
+                      final int decodeWorkers,
+                      final long spillHeapBudgetBytes,
+                      final Path spillDirectory,
+                      final boolean metricsEnabled,
+                      final long dedupMemoryBudgetBytes,
+                      final int arenaMaxRetainedPicks) {
+        this.excludedTemperatureZones = Collections.unmodifiableSet(excludedTemperatureZones);
+        this.outputBufferSize = outputBufferSize;
+        this.outputFlushInterval = outputFlushInterval;
+        this.internMaxPickers = internMaxPickers;
+        this.internMaxArticles = internMaxArticles;
+        this.decodeWorkers = decodeWorkers;
+        this.spillHeapBudgetBytes = spillHeapBudgetBytes;
+        this.spillDirectory = spillDirectory;
+        this.metricsEnabled = metricsEnabled;
+        this.dedupMemoryBudgetBytes = dedupMemoryBudgetBytes;
+        this.arenaMaxRetainedPicks = arenaMaxRetainedPicks;
+    }
+
+    /**
+     * Builds a configuration snapshot from the given properties. Missing properties take their default value.
+     *
+     * @param properties Configuration properties.
+     * @return AppConfig
+     */
+    public static AppConfig fromProperties(final Properties properties) {
+        return new AppConfig(
+                parseTemperatureZones(properties.getProperty(EXCLUDED_TEMPERATURE_ZONES)),
+                parsePositiveInt(properties, OUTPUT_BUFFER_SIZE, DEFAULT_OUTPUT_BUFFER_SIZE),
+                parsePositiveInt(properties, OUTPUT_FLUSH_INTERVAL, DEFAULT_OUTPUT_FLUSH_INTERVAL),
+                parsePositiveInt(properties, INTERN_MAX_PICKERS, DEFAULT_INTERN_MAX_PICKERS),
+                parsePositiveInt(properties, INTERN_MAX_ARTICLES, DEFAULT_INTERN_MAX_ARTICLES),
+                parsePositiveInt(properties, DECODE_WORKERS, DEFAULT_DECODE_WORKERS),
+                parseNonNegativeLong(properties, SPILL_HEAP_BUDGET_BYTES, DEFAULT_SPILL_HEAP_BUDGET_BYTES),
+                parseDirectory(properties.getProperty(SPILL_DIRECTORY)),
+                Boolean.parseBoolean(properties.getProperty(METRICS_ENABLED, "false").trim()),
+                parseNonNegativeLong(properties, DEDUP_MEMORY_BUDGET_BYTES, DEFAULT_DEDUP_MEMORY_BUDGET_BYTES),
+                parsePositiveInt(properties, ARENA_MAX_RETAINED_PICKS, DEFAULT_ARENA_MAX_RETAINED_PICKS));
+    }
+
+    /**
+     * @return Set<TemperatureZone> - EnumSet backed view of the excluded temperature zones.
+     */
+    public Set<TemperatureZone> getExcludedTemperatureZones() {
+        return excludedTemperatureZones;
+    }
+
+    public int getOutputBufferSize() {
+        return outputBufferSize;
+    }
+
+    public int getOutputFlushInterval() {
+        return outputFlushInterval;
+    }
+
+    /**
+     * @return int - maximum number of pickers kept by the interning layer of a factory.
+     */
+    public int getInternMaxPickers() {
+        return internMaxPickers;
+    }
+
+    /**
+     * @return int - maximum number of article names kept by the interning layer of a factory.
+     */
+    public int getInternMaxArticles() {
+        return internMaxArticles;
+    }
+
+    /**
+     * @return int - number of threads decoding input in parallel; 1 decodes on the reading thread itself.
+     */
+    public int getDecodeWorkers() {
+        return decodeWorkers;
+    }
+
+    /**
+     * @return long - heap in bytes the picks of a single batch may take before they are spilled to disk; 0 keeps
+     * all picks in memory.
+     */
+    public long getSpillHeapBudgetBytes() {
+        return spillHeapBudgetBytes;
+    }
+
+    /**
+     * @return Path - directory spilled picks are written to; the system temporary directory unless configured.
+     */
+    public Path getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    /**
+     * @return boolean - whether processors gather metrics and expose them over JMX.
+     */
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * @return long - memory in bytes the filter of duplicate event ids of a single batch may take; 0 disables the
+     * filter, so duplicated events count twice.
+     */
+    public long getDedupMemoryBudgetBytes() {
+        return dedupMemoryBudgetBytes;
+    }
+
+    /**
+     * @return int - maximum number of picks a processor keeps the storage of between batches; after a larger batch,
+     * the storage is released instead of reused.
+     */
+    public int getArenaMaxRetainedPicks() {
+        return arenaMaxRetainedPicks;
+    }
+
+    private static Set<TemperatureZone> parseTemperatureZones(final String value) {
+        Set<TemperatureZone> temperatureZones = EnumSet.noneOf(TemperatureZone.class);
+
+        if (Objects.nonNull(value)) {
+            for (String tempZone : value.split(",")) {
+                TemperatureZone temperatureZone = TemperatureZone.fromString(tempZone.trim());
+
+                if (Objects.nonNull(temperatureZone)) {
+                    temperatureZones.add(temperatureZone);
+                } else if (!tempZone.isBlank()) {
+                    LOGGER.log(Level.WARNING, "Ignoring unknown temperature zone: {0}", tempZone);
+                }
+            }
+        }
+
+        return temperatureZones;
+    }
+
+    private static int parsePositiveInt(final Properties properties, final String key, final int defaultValue) {
+        String value = properties.getProperty(key);
+        if (Objects.isNull(value)) {
+            return defaultValue;
+        }
+
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Falls through to the warning below.
+        }
+        LOGGER.log(Level.WARNING, "Ignoring invalid value for {0}: {1}", new Object[]{key, value});
+        return defaultValue;
+    }
+
+    private static long parseNonNegativeLong(final Properties properties, final String key, final long defaultValue) {
+        String value = properties.getProperty(key);
+        if (Objects.isNull(value)) {
+            return defaultValue;
+        }
+
+        try {
+            long parsed = Long.parseLong(value.trim());
+            if (parsed >= 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Falls through to the warning below.
+        }
+        LOGGER.log(Level.WARNING, "Ignoring invalid value for {0}: {1}", new Object[]{key, value});
+        return defaultValue;
+    }
+
+    private static Path parseDirectory(final String value) {
+        if (Objects.nonNull(value) && !value.isBlank()) {
+            try {
+                return Paths.get(value.trim());
+            } catch (InvalidPathException e) {
+                LOGGER.log(Level.WARNING, "Ignoring invalid value for {0}: {1}", new Object[]{SPILL_DIRECTORY, value});
+            }
+        }
+        return Paths.get(System.getProperty("java.io.tmpdir"));
+    }
+
+    @Override
+    public String toString() {
+        return "AppConfig{" +
+                "excludedTemperatureZones=" + excludedTemperatureZones +
+                ", outputBufferSize=" + outputBufferSize +
+                ", outputFlushInterval=" + outputFlushInterval +
+                ", internMaxPickers=" + internMaxPickers +
+                ", internMaxArticles=" + internMaxArticles +
+                ", decodeWorkers=" + decodeWorkers +
+                ", spillHeapBudgetBytes=" + spillHeapBudgetBytes +
+                ", spillDirectory=" + spillDirectory +
+                ", metricsEnabled=" + metricsEnabled +
+                ", dedupMemoryBudgetBytes=" + dedupMemoryBudgetBytes +
+                ", arenaMaxRetainedPicks=" + arenaMaxRetainedPicks +
+                '}';
+    }
+}
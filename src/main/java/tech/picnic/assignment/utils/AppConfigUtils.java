@@ -1,47 +1,63 @@
 package tech.picnic.assignment.utils;
 
-import tech.picnic.assignment.models.TemperatureZone;
-
 import java.io.IOException;
-import java.util.HashSet;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
- * Class to read config.properties file.
+ * Class to read config.properties files.
  */
 public final class AppConfigUtils {
 
+    private static final String CLASSPATH_CONFIG = "config.properties";
+    private static final Logger LOGGER = Logger.getLogger(AppConfigUtils.class.getName());
+
     private AppConfigUtils() {
     }
 
     /**
-     * This function reads config.properties file and create TemperatureZone enum set with excluded TemperatureZones.
-     * (To exclude more temperatureZones just add them to config file, considering future requirements.)
+     * This function reads the config.properties file bundled on the classpath.
+     * If the resource is missing, the built-in defaults apply.
      *
-     * @return HashSet of excluded temperatureZones.
+     * @return Properties - the bundled properties, possibly empty.
      * @throws IOException
      */
-    public static Set<TemperatureZone> getExcludedTemperatureZoneConfig() throws IOException {
-        Set<TemperatureZone> excludedTempZoneSet = new HashSet<>();
+    public static Properties loadClasspathProperties() throws IOException {
         Properties prop = new Properties();
-        prop.load(AppConfigUtils.class.getClassLoader().getResourceAsStream("config.properties"));
-        String val = prop.getProperty("temperature_zone_excluded");
-
-        if (Objects.nonNull(val)) {
-            for (String tempZone : val.split(",")) {
-                TemperatureZone temperatureZone = TemperatureZone.fromString(tempZone);
 
-                if (Objects.nonNull(temperatureZone)) {
-                    excludedTempZoneSet.add(temperatureZone);
-                }
+        try (InputStream stream = AppConfigUtils.class.getClassLoader().getResourceAsStream(CLASSPATH_CONFIG)) {
+            if (Objects.isNull(stream)) {
+                LOGGER.log(Level.WARNING, "{0} not found on classpath, using defaults", CLASSPATH_CONFIG);
+            } else {
+                prop.load(stream);
             }
-
         }
 
-        return excludedTempZoneSet;
+        return prop;
     }
 
+    /**
+     * This function reads the given properties file, with the given properties as defaults.
+     * (To exclude more temperatureZones just add them to the file, considering future requirements.)
+     *
+     * @param file     Properties file to read.
+     * @param defaults Properties used for keys the file does not define.
+     * @return Properties
+     * @throws IOException
+     */
+    public static Properties loadProperties(final Path file, final Properties defaults) throws IOException {
+        Properties prop = new Properties();
+        prop.putAll(defaults);
+
+        try (InputStream stream = Files.newInputStream(file)) {
+            prop.load(stream);
+        }
 
+        return prop;
+    }
 }
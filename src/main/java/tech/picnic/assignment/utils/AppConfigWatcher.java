@@ -0,0 +1,136 @@
+package tech.picnic.assignment.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Holds the current {@link AppConfig} snapshot. The bundled config.properties is read once; an optional external
+ * properties file overrides it and is watched for changes. The snapshot is replaced atomically, and only when the
+ * external file's modification time changes. The file is stat-ed at most once per check interval, one second by
+ * default, measured on {@link System#nanoTime()}; in between, reading the current configuration costs a volatile read.
+ */
+public final class AppConfigWatcher {
+
+    /** System property naming the external configuration file. */
+    public static final String CONFIG_FILE_PROPERTY = "tech.picnic.assignment.config";
+
+    private static final Logger LOGGER = Logger.getLogger(AppConfigWatcher.class.getName());
+    private static final Duration CHECK_INTERVAL = Duration.ofSeconds(1);
+
+    private final Properties defaults;
+    private final Path externalConfig;
+    private final long checkIntervalNanos;
+    private volatile Snapshot snapshot;
+    private volatile long nextCheckNanos;
+
+    /**
+     * Creates a watcher on top of the bundled configuration and the given external file, if any.
+     *
+     * @param externalConfig Optional external properties file, which does not need to exist yet.
+     * @throws IOException
+     */
+    public AppConfigWatcher(final Optional<Path> externalConfig) throws IOException {
+        this(externalConfig, CHECK_INTERVAL);
+    }
+
+    /**
+     * @param checkInterval Minimum time between two checks of the external file for changes.
+     */
+    AppConfigWatcher(final Optional<Path> externalConfig, final Duration checkInterval) throws IOException {
+        this.defaults = AppConfigUtils.loadClasspathProperties();
+        this.externalConfig = externalConfig.orElse(null);
+        this.checkIntervalNanos = checkInterval.toNanos();
+        this.snapshot = new Snapshot(AppConfig.fromProperties(defaults), null);
+        this.nextCheckNanos = System.nanoTime();
+    }
+
+    /**
+     * Creates a watcher on the file named by the {@value #CONFIG_FILE_PROPERTY} system property, if set.
+     *
+     * @return AppConfigWatcher
+     */
+    public static AppConfigWatcher fromSystemProperties() {
+        try {
+            return new AppConfigWatcher(Optional.ofNullable(System.getProperty(CONFIG_FILE_PROPERTY)).map(Path::of));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load configuration", e);
+        }
+    }
+
+    /**
+     * This function returns the current configuration, reloading it first if the external file has changed since
+     * the last check. If the changed file cannot be read, the previous configuration stays in effect.
+     *
+     * @return AppConfig
+     */
+    public AppConfig current() {
+        long now = System.nanoTime();
+        if (Objects.isNull(externalConfig) || now - nextCheckNanos < 0) {
+            return snapshot.config;
+        }
+        // Concurrent callers may both check once the interval has passed, which is harmless.
+        nextCheckNanos = now + checkIntervalNanos;
+
+        FileTime lastModified = lastModified();
+        Snapshot current = snapshot;
+        if (Objects.equals(lastModified, current.lastModified)) {
+            return current.config;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            if (!Objects.equals(lastModified, current.lastModified)) {
+                current = new Snapshot(reload(lastModified, current.config), lastModified);
+                snapshot = current;
+            }
+            return current.config;
+        }
+    }
+
+    private AppConfig reload(final FileTime lastModified, final AppConfig previous) {
+        if (Objects.isNull(lastModified)) {
+            LOGGER.log(Level.INFO, "{0} is absent, using bundled configuration", externalConfig);
+            return AppConfig.fromProperties(defaults);
+        }
+
+        try {
+            AppConfig config = AppConfig.fromProperties(AppConfigUtils.loadProperties(externalConfig, defaults));
+            LOGGER.log(Level.INFO, "Loaded configuration from {0}: {1}", new Object[]{externalConfig, config});
+            return config;
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Failed to reload " + externalConfig + ", keeping previous configuration", e);
+            return previous;
+        }
+    }
+
+    private FileTime lastModified() {
+        try {
+            return Files.getLastModifiedTime(externalConfig);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to check " + externalConfig + " for changes", e);
+            return snapshot.lastModified;
+        }
+    }
+
+    private static final class Snapshot {
+        private final AppConfig config;
+        private final FileTime lastModified;
+
+        private Snapshot(final AppConfig config, final FileTime lastModified) {
+            this.config = config;
+            this.lastModified = lastModified;
+        }
+    }
+}
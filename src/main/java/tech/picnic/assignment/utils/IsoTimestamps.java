@@ -0,0 +1,250 @@
+package tech.picnic.assignment.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Codec for timestamps held as epoch milliseconds and exchanged as ISO-8601 UTC strings.
+ *
+ * <p>The fixed {@code yyyy-MM-ddTHH:mm:ssZ} shape used by the event stream is parsed and printed digit by digit,
+ * without intermediate objects. Other ISO-8601 date-times (fractions, offsets) fall back to {@code java.time}.
+ * Output is always printed with seconds precision; recently printed seconds are served from a small cache.
+ */
+public final class IsoTimestamps {
+
+    private static final long NOT_FIXED_SHAPE = Long.MIN_VALUE;
+    private static final int FIXED_LENGTH = 20;
+    private static final int DAYS_0000_TO_1970 = 719_468;
+    private static final int DAYS_PER_400_YEARS = 146_097;
+
+    private static final int CACHE_SIZE = 1 << 10;
+    private static final FormattedSecond[] FORMAT_CACHE = new FormattedSecond[CACHE_SIZE];
+
+    private IsoTimestamps() {
+    }
+
+    /**
+     * Utility Method to parse an ISO-8601 date-time into epoch milliseconds. Date-times without offset are UTC.
+     *
+     * @throws DateTimeException if the text is not an ISO-8601 date-time.
+     */
+    public static long parse(final String text) {
+        long millis = parseFixedShape(text.toCharArray(), 0, text.length());
+        return millis != NOT_FIXED_SHAPE ? millis : parseGeneric(text);
+    }
+
+    /**
+     * Same as {@link #parse(String)}, parsing the fixed shape straight from the given characters, e.g. the text buffer
+     * of a parser, without creating a String.
+     *
+     * @throws DateTimeException if the characters are not an ISO-8601 date-time.
+     */
+    public static long parse(final char[] chars, final int offset, final int length) {
+        long millis = parseFixedShape(chars, offset, length);
+        return millis != NOT_FIXED_SHAPE ? millis : parseGeneric(new String(chars, offset, length));
+    }
+
+    /**
+     * Utility Method to print epoch milliseconds as {@code yyyy-MM-ddTHH:mm:ssZ}, truncating to the second.
+     */
+    public static String format(final long epochMillis) {
+        long second = Math.floorDiv(epochMillis, 1_000);
+        int slot = (int) (second & (CACHE_SIZE - 1));
+
+        // Entries are immutable, so racing threads at worst format the same second twice.
+        FormattedSecond cached = FORMAT_CACHE[slot];
+        if (cached != null && cached.second == second) {
+            return cached.text;
+        }
+
+        String text = formatSecond(second);
+        FORMAT_CACHE[slot] = new FormattedSecond(second, text);
+        return text;
+    }
+
+    private static long parseGeneric(final String text) {
+        TemporalAccessor parsed =
+                DateTimeFormatter.ISO_DATE_TIME.parseBest(text, OffsetDateTime::from, LocalDateTime::from);
+        return parsed instanceof OffsetDateTime
+                ? ((OffsetDateTime) parsed).toInstant().toEpochMilli()
+                : ((LocalDateTime) parsed).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Parses {@code yyyy-MM-ddTHH:mm:ssZ} from the given characters.
+     *
+     * @return long - epoch milliseconds, or {@link #NOT_FIXED_SHAPE} if the characters have a different shape.
+     */
+    private static long parseFixedShape(final char[] chars, final int offset, final int length) {
+        if (length != FIXED_LENGTH
+                || chars[offset + 4] != '-' || chars[offset + 7] != '-' || chars[offset + 10] != 'T'
+                || chars[offset + 13] != ':' || chars[offset + 16] != ':' || chars[offset + 19] != 'Z') {
+            return NOT_FIXED_SHAPE;
+        }
+
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        int hour = digits(chars, offset + 11, 2);
+        int minute = digits(chars, offset + 14, 2);
+        int second = digits(chars, offset + 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return NOT_FIXED_SHAPE;
+        }
+
+        long epochSecond = daysFromCivil(year, month, day) * 86_400 + hour * 3_600 + minute * 60 + second;
+        return epochSecond * 1_000;
+    }
+
+    /** @return int - the value of the given decimal digits, or -1 if any of them is not a digit. */
+    private static int digits(final char[] chars, final int offset, final int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static String formatSecond(final long epochSecond) {
+        long days = Math.floorDiv(epochSecond, 86_400);
+        int secondOfDay = (int) Math.floorMod(epochSecond, 86_400);
+
+        // Civil date from days since 1970-01-01, proleptic Gregorian calendar.
+        long shifted = days + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(shifted, DAYS_PER_400_YEARS);
+        int dayOfEra = (int) (shifted - era * DAYS_PER_400_YEARS);
+        int yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        if (year < 0 || year > 9_999) {
+            return DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochSecond(epochSecond));
+        }
+
+        char[] chars = {'0', '0', '0', '0', '-', '0', '0', '-', '0', '0', 'T',
+                '0', '0', ':', '0', '0', ':', '0', '0', 'Z'};
+        putDigits(chars, 0, (int) year, 4);
+        putDigits(chars, 5, month, 2);
+        putDigits(chars, 8, day, 2);
+        putDigits(chars, 11, secondOfDay / 3_600, 2);
+        putDigits(chars, 14, secondOfDay / 60 % 60, 2);
+        putDigits(chars, 17, secondOfDay % 60, 2);
+        return new String(chars);
+    }
+
+    private static void putDigits(final char[] chars, final int offset, final int value, final int count) {
+        int remaining = value;
+        for (int i = offset + count - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+    }
+
+    private static long daysFromCivil(final int year, final int month, final int day) {
+        int y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        int yearOfEra = (int) (y - era * 400);
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_400_YEARS + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    private static int lengthOfMonth(final int year, final int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static final class FormattedSecond {
+        private final long second;
+        private final String text;
+
+        private FormattedSecond(final long second, final String text) {
+            this.second = second;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Jackson deserializer binding ISO-8601 strings (or plain epoch milliseconds) to epoch milliseconds.
+     * The fixed shape is parsed from the parser's character buffer, without creating a String.
+     */
+    public static final class Deserializer extends StdScalarDeserializer<Long> {
+        private static final long serialVersionUID = 1L;
+
+        public Deserializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public Long deserialize(final JsonParser parser, final DeserializationContext context) throws IOException {
+            if (parser.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+                return parser.getLongValue();
+            }
+            if (!parser.hasToken(JsonToken.VALUE_STRING)) {
+                return (Long) context.handleUnexpectedToken(Long.class, parser);
+            }
+
+            long millis = parseFixedShape(
+                    parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (millis != NOT_FIXED_SHAPE) {
+                return millis;
+            }
+
+            String text = parser.getText();
+            try {
+                return parseGeneric(text);
+            } catch (DateTimeException e) {
+                return (Long) context.handleWeirdStringValue(
+                        Long.class, text, "not an ISO-8601 date-time: %s", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Jackson serializer printing epoch milliseconds as {@code yyyy-MM-ddTHH:mm:ssZ}.
+     */
+    public static final class Serializer extends StdSerializer<Long> {
+        private static final long serialVersionUID = 1L;
+
+        public Serializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public void serialize(final Long epochMillis, final JsonGenerator generator, final SerializerProvider provider)
+                throws IOException {
+            generator.writeString(format(epochMillis));
+        }
+    }
+}
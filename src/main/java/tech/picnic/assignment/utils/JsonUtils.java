@@ -2,27 +2,49 @@ package tech.picnic.assignment.utils;
 
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /***
  * Common Json Utility for serialize & deserialize
+ *
+ * <p>Streaming parsers and generators come from a plain {@link JsonFactory}. The {@link ObjectMapper} behind the
+ * data-binding methods is only set up on first use, so a process which decodes and writes through its own codecs
+ * never pays for it.
  */
 public final class JsonUtils {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    // Callers own the streams handed to us; never close them on their behalf.
+    private static final JsonFactory FACTORY = new JsonFactory()
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
 
-    static {
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private JsonUtils() {
     }
 
-    private JsonUtils() {
+    /**
+     * Holder of the mapper, initialized on first use.
+     */
+    private static final class Mapper {
+        private static final ObjectMapper INSTANCE = new ObjectMapper(FACTORY);
+
+        static {
+            INSTANCE.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+            INSTANCE.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+            INSTANCE.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+            // Streaming writers decide themselves when to flush.
+            INSTANCE.configure(SerializationFeature.FLUSH_AFTER_WRITE_VALUE, false);
+        }
     }
 
     /**
@@ -31,7 +53,7 @@ public final class JsonUtils {
      * @throws JsonProcessingException
      */
     public static String serialize(Object object) throws JsonProcessingException {
-        return objectMapper.writeValueAsString(object);
+        return Mapper.INSTANCE.writeValueAsString(object);
     }
 
     /**
@@ -40,6 +62,51 @@ public final class JsonUtils {
      * @throws IOException
      */
     public static <T> T deserialize(String json, Class<T> clazz) throws IOException {
-        return objectMapper.readValue(json, clazz);
+        return Mapper.INSTANCE.readValue(json, clazz);
+    }
+
+    /**
+     * Utility Method to create a JSON parser reading straight from the bytes of given InputStream.
+     * Closing the parser leaves the InputStream open.
+     *
+     * @throws IOException
+     */
+    public static JsonParser createParser(InputStream source) throws IOException {
+        return FACTORY.createParser(source);
+    }
+
+    /**
+     * Utility Method to create a JSON parser reading straight from the given range of UTF-8 bytes.
+     *
+     * @throws IOException
+     */
+    public static JsonParser createParser(byte[] bytes, int offset, int length) throws IOException {
+        return FACTORY.createParser(bytes, offset, length);
+    }
+
+    /**
+     * Utility Method to obtain a reusable, thread-safe reader binding JSON content to given type.
+     */
+    public static ObjectReader readerFor(Class<?> clazz) {
+        return Mapper.INSTANCE.readerFor(clazz);
+    }
+
+    /**
+     * Utility Method to create a JSON generator writing UTF-8 straight to the given OutputStream.
+     * Closing the generator flushes it, but leaves the OutputStream open.
+     *
+     * @throws IOException
+     */
+    public static JsonGenerator createGenerator(OutputStream sink) throws IOException {
+        return FACTORY.createGenerator(sink);
+    }
+
+    /**
+     * Utility Method to serialize an Object through the given generator.
+     *
+     * @throws IOException
+     */
+    public static void writeValue(JsonGenerator generator, Object object) throws IOException {
+        Mapper.INSTANCE.writeValue(generator, object);
     }
 }
@@ -0,0 +1,116 @@
+package tech.picnic.assignment.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tech.picnic.assignment.dtos.Picker;
+import tech.picnic.assignment.dtos.PickerSummary;
+import tech.picnic.assignment.models.Event;
+import tech.picnic.assignment.models.TemperatureZone;
+import tech.picnic.assignment.utils.JsonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the hand-written codecs against the Jackson binding their models and DTOs are annotated for, so the two
+ * cannot drift apart unnoticed.
+ */
+final class CodecParityTest {
+
+    private static final String PICKER = "\"picker\":{\"id\":\"14\",\"name\":\"Joris\","
+            + "\"active_since\":\"2018-09-20T08:20:00Z\"}";
+    private static final String ARTICLE = "\"article\":{\"id\":\"13473\",\"name\":\"ACME Bananas\","
+            + "\"temperature_zone\":\"ambient\"}";
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"timestamp\":\"2018-12-20T11:50:48Z\",\"id\":\"2344\"," + PICKER + "," + ARTICLE + ",\"quantity\":2}",
+            "{" + ARTICLE + ",\"quantity\":2," + PICKER + ",\"id\":\"2344\",\"timestamp\":\"2018-12-20T11:50:48Z\"}",
+            "{\"timestamp\":1545306648000,\"id\":\"2344\",\"picker\":{\"id\":\"14\",\"name\":\"Joris\","
+                    + "\"active_since\":1537431600000}," + ARTICLE + "}",
+            "{\"timestamp\":\"2018-12-20T12:50:48.5+01:00\",\"id\":2344," + PICKER + "," + ARTICLE
+                    + ",\"quantity\":null}",
+            "{\"timestamp\":\"2018-12-20T11:50:48Z\",\"id\":\"2344\"," + PICKER + "," + ARTICLE
+                    + ",\"quantity\":\"3\",\"extra\":{\"nested\":[1,{\"a\":null}]},\"tags\":[]}",
+            "{\"timestamp\":\"2018-12-20T11:50:48Z\",\"id\":\"2344\",\"picker\":{\"id\":14,\"name\":\"Joris\","
+                    + "\"active_since\":\"2018-09-20T08:20:00Z\",\"team\":\"A\"},\"article\":{\"id\":\"13473\","
+                    + "\"name\":\"ACME Bananas\",\"temperature_zone\":\"chilled\"},\"quantity\":2.0}"})
+    void decodesValidEventsAsJackson(final String json) throws IOException {
+        assertEquals(JsonUtils.deserialize(json, Event.class), decode(json));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"timestamp\":\"2018-12-20T11:50:48Z\"," + PICKER + "," + ARTICLE + "}",
+            "{\"timestamp\":\"2018-12-20T11:50:48Z\",\"id\":\"2344\"," + ARTICLE + "}",
+            "{\"timestamp\":\"2018-12-20T11:50:48Z\",\"id\":\"2344\",\"picker\":null," + ARTICLE + "}",
+            "{\"timestamp\":\"yesterday\",\"id\":\"2344\"," + PICKER + "," + ARTICLE + "}",
+            "{\"timestamp\":\"2018-12-20T11:50:48Z\",\"id\":\"2344\"," + PICKER + ",\"article\":{\"id\":\"1\","
+                    + "\"name\":\"x\",\"temperature_zone\":\"frozen\"}}",
+            "{\"timestamp\":\"2018-12-20T11:50:48Z\",\"id\":{}," + PICKER + "," + ARTICLE + "}",
+            "{\"timestamp\":\"2018-12-20T11:50:48Z\",\"id\":\"2344\"," + PICKER + "," + ARTICLE
+                    + ",\"quantity\":\"many\"}",
+            "[]"})
+    void rejectsInvalidEventsAsJackson(final String json) {
+        assertThrows(IOException.class, () -> JsonUtils.deserialize(json, Event.class));
+        assertThrows(IOException.class, () -> decode(json));
+    }
+
+    @Test
+    void decodesGeneratedEventsAsJackson() throws IOException {
+        String input = new String(ParallelPickReaderTest.generateInput(2_000, new Random(17)), StandardCharsets.UTF_8);
+        for (String line : input.split("\n")) {
+            if (!line.isBlank()) {
+                assertEquals(JsonUtils.deserialize(line, Event.class), decode(line), line);
+            }
+        }
+    }
+
+    @Test
+    void writesPickersAsJackson() throws IOException {
+        Picker picker = new Picker("14", "Joris", 1_537_431_600_000L, List.of(
+                new Picker.PickItem("ACME BANANAS", 1_545_306_648_000L),
+                new Picker.PickItem("ACME \"APPLES\" é", 1_545_306_649_123L)));
+        Picker unnamed = new Picker("15", null, 0, List.of());
+
+        for (Picker dto : List.of(picker, unnamed)) {
+            assertEquals(JsonUtils.serialize(dto), encode(dto));
+        }
+    }
+
+    @Test
+    void writesSummariesAsJackson() throws IOException {
+        PickerSummary summary = new PickerSummary("14", "Joris", 1_537_431_600_000L, 3, 7,
+                1_545_306_648_000L, 1_545_306_660_500L, 2);
+        PickerSummary unnamed = new PickerSummary("15", null, 0, 0, 0, 0, 0, 0);
+
+        for (PickerSummary dto : List.of(summary, unnamed)) {
+            assertEquals(JsonUtils.serialize(dto), encode(dto));
+        }
+    }
+
+    private static Event decode(final String json) throws IOException {
+        try (EventDecoder decoder = new EventDecoder(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                EnumSet.noneOf(TemperatureZone.class))) {
+            return decoder.next();
+        }
+    }
+
+    private static String encode(final Object dto) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JsonUtils.createGenerator(output)) {
+            PickerCodec.write(generator, dto);
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,61 @@
+package tech.picnic.assignment.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class DecompressingInputStreamTest {
+
+    @Test
+    void passesShortFirstLineOfIdleSourceThrough() throws IOException {
+        try (EventReaderPool pool = new EventReaderPool();
+             PipedOutputStream producer = new PipedOutputStream();
+             InputStream source = new PipedInputStream(producer);
+             DecompressingInputStream input = new DecompressingInputStream(source, pool)) {
+            // Fewer bytes than the longest magic number arrive; the source then stays idle without being closed.
+            producer.write("\n{".getBytes(StandardCharsets.UTF_8));
+            producer.flush();
+
+            byte[] bytes = new byte[16];
+            int read = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> input.read(bytes, 0, bytes.length));
+            assertEquals("\n{", new String(bytes, 0, read, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void passesUncompressedInputThroughByteByByte() throws IOException {
+        try (EventReaderPool pool = new EventReaderPool();
+             DecompressingInputStream input = new DecompressingInputStream(
+                     new ByteArrayInputStream("{\"id\":1}".getBytes(StandardCharsets.UTF_8)), pool)) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            for (int read; (read = input.read()) >= 0; ) {
+                output.write(read);
+            }
+            assertEquals("{\"id\":1}", output.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void inflatesGzipInput() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (EventReaderPool pool = new EventReaderPool();
+             DecompressingInputStream input =
+                     new DecompressingInputStream(new ByteArrayInputStream(compressed.toByteArray()), pool)) {
+            assertEquals("{\"id\":1}\n", new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package tech.picnic.assignment.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class DistinctCountSketchTest {
+
+    @Test
+    void countsSmallSetsAlmostExactly() {
+        DistinctCountSketch sketch = new DistinctCountSketch();
+        assertEquals(0, sketch.estimate());
+        for (int repeat = 0; repeat < 3; repeat++) {
+            for (int i = 0; i < 50; i++) {
+                sketch.add(Hashing.hash64("ARTICLE " + i));
+            }
+        }
+        assertEquals(50, sketch.estimate(), 1);
+
+        sketch.reset();
+        assertEquals(0, sketch.estimate());
+    }
+
+    @Test
+    void estimatesLargeSetsWithinFewPercent() {
+        DistinctCountSketch sketch = new DistinctCountSketch();
+        DistinctCountSketch first = new DistinctCountSketch();
+        DistinctCountSketch second = new DistinctCountSketch();
+        for (int i = 0; i < 100_000; i++) {
+            long hash = Hashing.hash64("ARTICLE " + i);
+            sketch.add(hash);
+            (i % 2 == 0 ? first : second).add(hash);
+        }
+        assertEquals(100_000, sketch.estimate(), 100_000 * 0.1);
+
+        first.addAll(second);
+        assertEquals(sketch.estimate(), first.estimate());
+    }
+}
@@ -0,0 +1,106 @@
+package tech.picnic.assignment.impl;
+
+import org.junit.jupiter.api.Test;
+import tech.picnic.assignment.models.Event;
+import tech.picnic.assignment.models.TemperatureZone;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class EventDecoderTest {
+
+    private static final String AMBIENT_EVENT = "{\"timestamp\":\"2018-12-20T11:50:48Z\",\"id\":\"2344\","
+            + "\"picker\":{\"id\":\"14\",\"name\":\"Joris\",\"active_since\":\"2018-09-20T08:20:00Z\"},"
+            + "\"article\":{\"id\":\"13473\",\"name\":\"ACME Bananas\",\"temperature_zone\":\"ambient\"},"
+            + "\"quantity\":2}";
+    private static final String CHILLED_EVENT_ARTICLE_FIRST = "{\"article\":{\"id\":\"41459\","
+            + "\"temperature_zone\":\"chilled\",\"name\":\"ACME Apples\",\"tags\":[{\"a\":1}]},"
+            + "\"timestamp\":\"2018-12-20T11:51:00Z\",\"id\":\"2346\",\"extra\":{\"nested\":[1,2,{}]},"
+            + "\"picker\":{\"id\":\"14\",\"name\":\"Joris\",\"active_since\":\"2018-09-20T08:20:00Z\"},"
+            + "\"quantity\":1}";
+
+    @Test
+    void skipsExcludedEventsAndKeepsCounting() throws IOException {
+        String input = "\n" + CHILLED_EVENT_ARTICLE_FIRST + "\n\n" + AMBIENT_EVENT + "\n \n";
+
+        try (EventDecoder decoder = new EventDecoder(stream(input), EnumSet.of(TemperatureZone.CHILLED))) {
+            assertTrue(decoder.hasNext());
+            assertNull(decoder.next());
+            assertTrue(decoder.hasNext());
+            Event event = decoder.next();
+            assertEquals("2344", event.getId());
+            assertEquals(TemperatureZone.AMBIENT, event.getArticle().getTemperatureZone());
+            assertEquals(2, event.getQuantity());
+            assertFalse(decoder.hasNext());
+        }
+    }
+
+    @Test
+    void bindsEveryEventWithoutExclusions() throws IOException {
+        String input = CHILLED_EVENT_ARTICLE_FIRST + "\n" + AMBIENT_EVENT + "\n";
+
+        try (EventDecoder decoder = new EventDecoder(stream(input), EnumSet.noneOf(TemperatureZone.class))) {
+            assertEquals("2346", decoder.next().getId());
+            assertEquals("2344", decoder.next().getId());
+            assertFalse(decoder.hasNext());
+        }
+    }
+
+    @Test
+    void sharesRepeatedPickerAndArticleStrings() throws IOException {
+        String input = AMBIENT_EVENT + "\n" + AMBIENT_EVENT.replace("2344", "2345") + "\n";
+
+        try (EventDecoder decoder = new EventDecoder(stream(input), EnumSet.of(TemperatureZone.CHILLED))) {
+            Event first = decoder.next();
+            Event second = decoder.next();
+            assertEquals("2345", second.getId());
+            assertSame(first.getPicker().getId(), second.getPicker().getId());
+            assertSame(first.getPicker().getName(), second.getPicker().getName());
+            assertSame(first.getArticle().getId(), second.getArticle().getId());
+            assertSame(first.getArticle().getName(), second.getArticle().getName());
+        }
+    }
+
+    @Test
+    void rejectsIncompleteEvents() throws IOException {
+        String input = "{\"id\":\"1\",\"article\":{\"id\":\"2\",\"name\":\"x\",\"temperature_zone\":\"ambient\"}}\n";
+
+        try (EventDecoder decoder = new EventDecoder(stream(input), EnumSet.of(TemperatureZone.CHILLED))) {
+            assertThrows(IOException.class, decoder::next);
+        }
+    }
+
+    @Test
+    void ignoresInvalidMembersOfExcludedEvents() throws IOException {
+        String input = "{\"quantity\":\"many\",\"article\":{\"id\":\"2\",\"temperature_zone\":\"chilled\"}}\n"
+                + "{\"quantity\":\"many\",\"article\":{\"id\":\"2\",\"temperature_zone\":\"ambient\"}}\n";
+
+        try (EventDecoder decoder = new EventDecoder(stream(input), EnumSet.of(TemperatureZone.CHILLED))) {
+            assertNull(decoder.next());
+            assertThrows(IOException.class, decoder::next);
+        }
+    }
+
+    @Test
+    void bindsEpochMillisAndMissingQuantity() throws IOException {
+        String input = "{\"timestamp\":1545306648000,\"id\":\"7\","
+                + "\"picker\":{\"id\":\"14\",\"name\":\"Joris\",\"active_since\":1537431600000},"
+                + "\"article\":{\"id\":\"13473\",\"name\":\"ACME Bananas\",\"temperature_zone\":\"ambient\"}}\n";
+
+        try (EventDecoder decoder = new EventDecoder(stream(input), EnumSet.noneOf(TemperatureZone.class))) {
+            Event event = decoder.next();
+            assertEquals(1_545_306_648_000L, event.getTimestamp());
+            assertEquals(1_537_431_600_000L, event.getPicker().getActiveSince());
+            assertEquals(0, event.getQuantity());
+        }
+    }
+
+    private static InputStream stream(final String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
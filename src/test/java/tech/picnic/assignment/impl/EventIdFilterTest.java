@@ -0,0 +1,104 @@
+package tech.picnic.assignment.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tech.picnic.assignment.api.EventProcessorFactory;
+import tech.picnic.assignment.api.StreamProcessor;
+import tech.picnic.assignment.utils.AppConfigWatcher;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class EventIdFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void dropsDuplicatesExactlyWithinBudget() {
+        EventIdFilter filter = new EventIdFilter(1 << 20);
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(filter.firstSeen("event-" + i));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            assertFalse(filter.firstSeen("event-" + i));
+        }
+        assertEquals(0, filter.falsePositiveRate());
+
+        filter.reset();
+        assertTrue(filter.firstSeen("event-0"));
+    }
+
+    @Test
+    void fallsOverToBloomFilterBeyondBudget() {
+        EventIdFilter filter = new EventIdFilter(64 * 1024);
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (!filter.firstSeen("event-" + i)) {
+                falsePositives++;
+            }
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(filter.firstSeen("event-" + i), "Duplicates are always dropped");
+        }
+
+        // 10,000 ids in the 256 Kbit the 32 KiB exact set leaves of the budget: an expected false-positive rate in
+        // the order of 1e-4.
+        double rate = filter.falsePositiveRate();
+        assertTrue(rate > 0 && rate < 1e-3, "Estimated false-positive rate " + rate);
+        assertTrue(falsePositives <= 3, falsePositives + " distinct ids dropped");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void duplicatedEventsCountOnce(final int decodeWorkers) throws IOException {
+        byte[] input = ParallelPickReaderTest.generateInput(20_000, new Random(decodeWorkers));
+        String[] lines = new String(input, StandardCharsets.UTF_8).split("\n");
+        // Redeliver every tenth line a little later.
+        Random random = new Random(42);
+        Map<Integer, List<String>> redeliveries = new HashMap<>();
+        List<String> redelivered = new ArrayList<>();
+        for (int i = 0; i < lines.length; i++) {
+            redelivered.add(lines[i]);
+            if (i % 10 == 0) {
+                redeliveries.computeIfAbsent(i + random.nextInt(2_000), key -> new ArrayList<>()).add(lines[i]);
+            }
+            redelivered.addAll(redeliveries.getOrDefault(i, Collections.emptyList()));
+        }
+        byte[] duplicated = (String.join("\n", redelivered) + "\n").getBytes(StandardCharsets.UTF_8);
+
+        String properties = "decode_workers=" + decodeWorkers;
+        String expected = process(input, properties);
+        assertNotEquals(expected, process(duplicated, properties));
+        assertEquals(expected, process(duplicated, properties + "\ndedup_memory_budget_bytes=1048576"));
+    }
+
+    private String process(final byte[] input, final String properties) throws IOException {
+        Path config = Files.createTempFile(tempDir, "config-", ".properties");
+        Files.writeString(config, properties);
+
+        try (EventProcessorFactory factory =
+                     new PickingEventProcessorFactory(new AppConfigWatcher(Optional.of(config)));
+             StreamProcessor processor = factory.createProcessor(Integer.MAX_VALUE, Duration.ofMinutes(1));
+             ByteArrayOutputStream sink = new ByteArrayOutputStream()) {
+            processor.process(new ByteArrayInputStream(input), sink);
+            return new String(sink.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package tech.picnic.assignment.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class LineFramerTest {
+
+    @Test
+    void framesLinesIntoReusedBatch() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            input.append("{\"id\":").append(i).append("}\n");
+            if (i % 100 == 0) {
+                input.append(" \r\n");
+            }
+        }
+        input.append("{\"id\":\"last\"}");
+
+        LineFramer framer = new LineFramer(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)));
+        LineBatch batch = new LineBatch();
+        List<String> lines = new ArrayList<>();
+        byte[] buffer = null;
+        while (framer.next(300, batch)) {
+            assertTrue(batch.getEventCount() <= 300);
+            if (buffer != null && batch.getLength() <= buffer.length) {
+                assertSame(buffer, batch.getBytes(), "Batch should reuse its buffer");
+            }
+            buffer = batch.getBytes();
+            String text = new String(batch.getBytes(), 0, batch.getLength(), StandardCharsets.UTF_8);
+            for (String line : text.split("\n")) {
+                if (!line.trim().isEmpty()) {
+                    lines.add(line);
+                }
+            }
+        }
+
+        assertEquals(10_001, lines.size());
+        assertEquals("{\"id\":0}", lines.get(0));
+        assertEquals("{\"id\":\"last\"}", lines.get(10_000));
+        assertEquals(100, framer.getKeepAliveCount());
+    }
+}
@@ -0,0 +1,133 @@
+package tech.picnic.assignment.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tech.picnic.assignment.api.EventProcessorFactory;
+import tech.picnic.assignment.api.StreamProcessor;
+import tech.picnic.assignment.utils.AppConfigWatcher;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class MappedFileFramerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 999, 20_000, 100_000})
+    void producesSameOutputAsStreamingPath(final int maxEvents) throws IOException {
+        byte[] input = ParallelPickReaderTest.generateInput(30_000, new Random(maxEvents));
+        Path file = tempDir.resolve("events.json");
+        Files.write(file, input);
+
+        String streamed = process(new ByteArrayInputStream(input), maxEvents);
+        try (FileInputStream source = new FileInputStream(file.toFile())) {
+            assertNotNull(MappedFileFramer.open(source));
+            assertEquals(streamed, process(source, maxEvents));
+        }
+    }
+
+    @Test
+    void framesSameLinesAsLineFramerAcrossWindows() throws IOException {
+        byte[] input = ParallelPickReaderTest.generateInput(2_000, new Random(7));
+        Path file = tempDir.resolve("events.json");
+        Files.write(file, input);
+
+        LineFramer lineFramer = new LineFramer(new ByteArrayInputStream(input));
+        try (FileInputStream source = new FileInputStream(file.toFile())) {
+            // Windows smaller than a line, so they have to slide and grow.
+            MappedFileFramer fileFramer = MappedFileFramer.open(source, 64);
+
+            assertEquals(frameAll(lineFramer), frameAll(fileFramer));
+            assertEquals(lineFramer.getKeepAliveCount(), fileFramer.getKeepAliveCount());
+        }
+    }
+
+    @Test
+    void handsRestOfFileBackToStream() throws IOException {
+        Path file = tempDir.resolve("events.json");
+        Files.writeString(file, "first\n\nsecond\nthird\n");
+
+        try (FileInputStream source = new FileInputStream(file.toFile())) {
+            MappedFileFramer framer = MappedFileFramer.open(source);
+            LineBatch batch = new LineBatch();
+            assertTrue(framer.next(2, batch));
+            framer.finish();
+
+            assertEquals(2, batch.getEventCount());
+            assertEquals("third\n", new String(source.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void movesOnFromWindowsWhoseLinesHaveAllBeenFramed() throws IOException {
+        // The first lines fill a window exactly, so each of their batches releases its window.
+        String input = "first-1\nsecond2\n\nthird\n";
+        Path file = tempDir.resolve("events.json");
+        Files.writeString(file, input);
+
+        try (FileInputStream source = new FileInputStream(file.toFile())) {
+            assertEquals(frameAll(new LineFramer(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)))),
+                    frameAll(MappedFileFramer.open(source, 8)));
+        }
+        try (FileInputStream source = new FileInputStream(file.toFile())) {
+            MappedFileFramer framer = MappedFileFramer.open(source, 8);
+            LineBatch batch = new LineBatch();
+            assertTrue(framer.next(1, batch));
+            framer.finish();
+
+            assertEquals("second2\n\nthird\n", new String(source.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void doesNotMapOtherStreams() throws IOException {
+        Path file = tempDir.resolve("empty.json");
+        Files.createFile(file);
+
+        assertNull(MappedFileFramer.open(new ByteArrayInputStream(new byte[1])));
+        try (FileInputStream source = new FileInputStream(file.toFile())) {
+            assertNull(MappedFileFramer.open(source));
+        }
+    }
+
+    private static String frameAll(final BatchFramer framer) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        LineBatch batch = new LineBatch();
+        int eventCount = 0;
+        while (framer.next(97, batch)) {
+            assertTrue(batch.getEventCount() <= 97);
+            assertEquals((byte) '\n', batch.getBytes()[batch.getLength() - 1], "Batches should end with a line");
+            eventCount += batch.getEventCount();
+            lines.append(new String(batch.getBytes(), 0, batch.getLength(), StandardCharsets.UTF_8));
+        }
+        return eventCount + " events:\n" + lines;
+    }
+
+    private String process(final InputStream source, final int maxEvents) throws IOException {
+        Path config = tempDir.resolve("config.properties");
+        Files.writeString(config, "decode_workers=1");
+
+        try (EventProcessorFactory factory =
+                     new PickingEventProcessorFactory(new AppConfigWatcher(Optional.of(config)));
+             StreamProcessor processor = factory.createProcessor(maxEvents, Duration.ofMinutes(1));
+             ByteArrayOutputStream sink = new ByteArrayOutputStream()) {
+            processor.process(source, sink);
+            return new String(sink.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package tech.picnic.assignment.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class MultiSourcePickReaderTest {
+
+    @Test
+    void mergesSourcesIntoSameResultAsSingleSource() throws IOException {
+        byte[] input = ParallelPickReaderTest.generateInput(30_000, new Random(7));
+        // Split by picker, so that the picks of each picker keep their order within a single source.
+        List<StringBuilder> zones = List.of(new StringBuilder(), new StringBuilder(), new StringBuilder());
+        for (String line : new String(input, StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                zones.get(pickerOf(line) % 3).append(line).append('\n');
+            }
+        }
+
+        assertEquals(process(Integer.MAX_VALUE, Duration.ofMinutes(1), input(input)),
+                process(Integer.MAX_VALUE, Duration.ofMinutes(1),
+                        zones.stream().map(MultiSourcePickReaderTest::inputOf).toArray(InputStream[]::new)));
+    }
+
+    @Test
+    void appliesMaxEventsAcrossSources() throws IOException {
+        String ambient = new String(ParallelPickReaderTest.generateInput(1_000, new Random(3)), StandardCharsets.UTF_8)
+                .replace("chilled", "ambient");
+
+        JsonNode pickers = new ObjectMapper().readTree(process(1_500, Duration.ofMinutes(1),
+                inputOf(ambient), inputOf(ambient), inputOf(ambient)));
+
+        int pickCount = 0;
+        for (JsonNode picker : pickers) {
+            pickCount += picker.get("picks").size();
+        }
+        assertEquals(1_500, pickCount);
+    }
+
+    @RepeatedTest(50)
+    void keepsEveryClaimedEventWhenManySourcesRaceForTheLimit() throws IOException {
+        String ambient = new String(ParallelPickReaderTest.generateInput(200, new Random(11)), StandardCharsets.UTF_8)
+                .replace("chilled", "ambient");
+        InputStream[] sources = new InputStream[8];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = inputOf(ambient);
+        }
+
+        JsonNode pickers = new ObjectMapper().readTree(process(999, Duration.ofMinutes(1), sources));
+
+        int pickCount = 0;
+        for (JsonNode picker : pickers) {
+            pickCount += picker.get("picks").size();
+        }
+        assertEquals(999, pickCount);
+    }
+
+    @RepeatedTest(200)
+    void reportsFailureOfOneSourceNextToValidSources() {
+        String valid = new String(ParallelPickReaderTest.generateInput(50, new Random(13)), StandardCharsets.UTF_8);
+
+        assertThrows(IOException.class, () -> process(Integer.MAX_VALUE, Duration.ofMinutes(1),
+                inputOf("{\"id\":\n"), inputOf(valid), inputOf(valid)));
+    }
+
+    @Test
+    void readsSourcesConcurrently() throws IOException {
+        byte[] input = ParallelPickReaderTest.generateInput(1_000, new Random(9));
+        // Each source takes 500ms before its first byte arrives.
+        List<InputStream> sources = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            sources.add(new FilterInputStream(input(input)) {
+                private boolean arrived;
+
+                @Override
+                public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+                    if (!arrived) {
+                        arrived = true;
+                        try {
+                            Thread.sleep(500);
+                        } catch (InterruptedException e) {
+                            throw new InterruptedIOException();
+                        }
+                    }
+                    return super.read(bytes, offset, length);
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        String output = process(Integer.MAX_VALUE, Duration.ofMinutes(1), sources.toArray(new InputStream[0]));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(elapsedMillis < 1_200, "Sources read in " + elapsedMillis + "ms");
+        assertTrue(output.length() > 2);
+    }
+
+    @Test
+    void idleSourceDoesNotHoldBackOtherSources() throws IOException {
+        byte[] input = ParallelPickReaderTest.generateInput(1_000, new Random(5));
+        try (PipedOutputStream idle = new PipedOutputStream();
+             PipedInputStream idleSource = new PipedInputStream(idle)) {
+            long start = System.nanoTime();
+            String output = process(Integer.MAX_VALUE, Duration.ofMillis(500), input(input), idleSource);
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+            assertTrue(elapsedMillis < 1_500, "Result written " + elapsedMillis + "ms after start");
+            assertEquals(process(Integer.MAX_VALUE, Duration.ofMinutes(1), input(input)), output);
+        }
+    }
+
+    private static String process(final int maxEvents, final Duration maxTime, final InputStream... sources)
+            throws IOException {
+        try (PickingEventProcessorFactory factory = new PickingEventProcessorFactory();
+             PickingStreamProcessor processor = factory.createProcessor(maxEvents, maxTime, OutputMode.PICKS);
+             ByteArrayOutputStream sink = new ByteArrayOutputStream()) {
+            processor.process(List.of(sources), sink);
+            return new String(sink.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static int pickerOf(final String line) throws IOException {
+        return new ObjectMapper().readTree(line).path("picker").path("id").asInt();
+    }
+
+    private static InputStream input(final byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private static InputStream inputOf(final CharSequence text) {
+        return input(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,167 @@
+package tech.picnic.assignment.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tech.picnic.assignment.api.EventProcessorFactory;
+import tech.picnic.assignment.api.StreamProcessor;
+import tech.picnic.assignment.tools.PickEventGenerator;
+import tech.picnic.assignment.tools.ReplayInputStream;
+import tech.picnic.assignment.utils.AppConfigWatcher;
+import tech.picnic.assignment.utils.IsoTimestamps;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class ParallelPickReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 999, 20_000, 100_000})
+    void producesSameOutputAsSingleThreadedPath(final int maxEvents) throws IOException {
+        byte[] input = generateInput(50_000, new Random(maxEvents));
+
+        String singleThreaded = process(input, maxEvents, 1);
+        String parallel = process(input, maxEvents, 4);
+
+        assertEquals(singleThreaded, parallel);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {999, 100_000})
+    void decompressesGzipInputOnTheFly(final int maxEvents) throws IOException {
+        byte[] input = generateInput(50_000, new Random(maxEvents));
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(input);
+        }
+
+        assertEquals(process(input, maxEvents, 1), process(compressed.toByteArray(), maxEvents, 4));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void summarizesThePicksOfEachPicker(final int decodeWorkers) throws IOException {
+        byte[] input = generateInput(50_000, new Random(decodeWorkers));
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, Long> quantities = new HashMap<>();
+        for (String line : new String(input, StandardCharsets.UTF_8).split("\n")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode event = mapper.readTree(line);
+            if (event.path("article").path("temperature_zone").asText().equals("ambient")) {
+                quantities.merge(event.path("picker").path("name").asText(), event.path("quantity").asLong(), Long::sum);
+            }
+        }
+
+        JsonNode pickers = mapper.readTree(process(input, Integer.MAX_VALUE, decodeWorkers, OutputMode.PICKS));
+        String summaryOutput = process(input, Integer.MAX_VALUE, decodeWorkers, OutputMode.SUMMARY);
+        JsonNode summaries = mapper.readTree(summaryOutput);
+
+        assertEquals(pickers.size(), summaries.size());
+        for (int i = 0; i < pickers.size(); i++) {
+            JsonNode picker = pickers.get(i);
+            JsonNode summary = summaries.get(i);
+            JsonNode picks = picker.get("picks");
+            Set<String> articles = new HashSet<>();
+            picks.forEach(pick -> articles.add(pick.get("article_name").asText()));
+
+            assertEquals(picker.get("picker_name"), summary.get("picker_name"));
+            assertEquals(picker.get("active_since"), summary.get("active_since"));
+            assertEquals(picks.size(), summary.get("pick_count").asInt());
+            assertEquals(quantities.get(picker.get("picker_name").asText()), summary.get("total_quantity").asLong());
+            assertEquals(picks.get(0).get("timestamp"), summary.get("first_pick_timestamp"));
+            assertEquals(picks.get(picks.size() - 1).get("timestamp"), summary.get("last_pick_timestamp"));
+            assertEquals(articles.size(), summary.get("distinct_articles").asDouble(), articles.size() * 0.1);
+        }
+        // Partial summaries merge to the same result in any order.
+        assertEquals(process(input, Integer.MAX_VALUE, 1, OutputMode.SUMMARY), summaryOutput);
+    }
+
+    @Test
+    void writesResultShortlyAfterDeadlineOnTricklingSource() throws IOException {
+        Path config = tempDir.resolve("trickling.properties");
+        Files.writeString(config, "decode_workers=4");
+        PickEventGenerator generator = new PickEventGenerator(PickEventGenerator.Settings.defaults()
+                .withEventCount(1_000_000)
+                .withEventsPerSecond(50_000)
+                .withSilences(0, 0, 1));
+
+        try (EventProcessorFactory factory =
+                     new PickingEventProcessorFactory(new AppConfigWatcher(Optional.of(config)));
+             StreamProcessor processor = factory.createProcessor(Integer.MAX_VALUE, Duration.ofMillis(500));
+             ByteArrayOutputStream sink = new ByteArrayOutputStream()) {
+            long start = System.nanoTime();
+            processor.process(new ReplayInputStream(generator, 1), sink);
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+            assertTrue(elapsedMillis < 1_500, "Result written " + elapsedMillis + "ms after start");
+            assertTrue(sink.size() > 2, "Events read before the deadline should be in the result");
+        }
+    }
+
+    private String process(final byte[] input, final int maxEvents, final int decodeWorkers) throws IOException {
+        return process(input, maxEvents, decodeWorkers, OutputMode.PICKS);
+    }
+
+    private String process(final byte[] input,
+                           final int maxEvents,
+                           final int decodeWorkers,
+                           final OutputMode outputMode) throws IOException {
+        Path config = tempDir.resolve("workers-" + decodeWorkers + ".properties");
+        Files.writeString(config, "decode_workers=" + decodeWorkers);
+
+        try (PickingEventProcessorFactory factory =
+                     new PickingEventProcessorFactory(new AppConfigWatcher(Optional.of(config)));
+             StreamProcessor processor = factory.createProcessor(maxEvents, Duration.ofMinutes(1), outputMode);
+             ByteArrayOutputStream sink = new ByteArrayOutputStream()) {
+            processor.process(new ByteArrayInputStream(input), sink);
+            return new String(sink.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static byte[] generateInput(final int eventCount, final Random random) {
+        StringBuilder input = new StringBuilder();
+        long start = 1_545_306_648_000L;
+        for (int i = 0; i < eventCount; i++) {
+            if (random.nextInt(20) == 0) {
+                input.append(random.nextBoolean() ? "\n" : "  \r\n");
+            }
+            int picker = random.nextInt(40);
+            int article = random.nextInt(300);
+            // Mostly in order, with coarse timestamps so that ties are common.
+            long timestamp = start + (i - random.nextInt(3) * random.nextInt(50)) * 500L / 1_000 * 1_000;
+            input.append("{\"timestamp\":\"").append(IsoTimestamps.format(timestamp))
+                    .append("\",\"id\":\"").append(i)
+                    .append("\",\"picker\":{\"id\":\"").append(picker)
+                    .append("\",\"name\":\"Picker ").append(picker)
+                    .append("\",\"active_since\":\"").append(IsoTimestamps.format(start - picker % 7 * 3_600_000L))
+                    .append("\"},\"article\":{\"id\":\"").append(article)
+                    .append("\",\"name\":\"Article ").append(article)
+                    .append("\",\"temperature_zone\":\"").append(random.nextInt(3) == 0 ? "chilled" : "ambient")
+                    .append("\"},\"quantity\":").append(1 + random.nextInt(5))
+                    .append("}\n");
+        }
+        return input.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
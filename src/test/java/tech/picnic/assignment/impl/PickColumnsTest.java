@@ -0,0 +1,73 @@
+package tech.picnic.assignment.impl;
+
+import org.junit.jupiter.api.Test;
+import tech.picnic.assignment.dtos.Picker;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class PickColumnsTest {
+
+    @Test
+    void sortsStablyByTimestamp() {
+        Random random = new Random(7);
+        PickColumns columns = new PickColumns();
+        List<long[]> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long timestamp = random.nextInt(500);
+            columns.add(timestamp, i);
+            expected.add(new long[]{timestamp, i});
+        }
+        expected.sort(Comparator.comparingLong(pick -> pick[0]));
+
+        columns.sort();
+
+        assertEquals(expected.size(), columns.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i)[0], columns.timestampAt(i));
+            assertEquals(expected.get(i)[1], columns.articleCodeAt(i));
+        }
+    }
+
+    @Test
+    void keepsMostlyOrderedArrivalsStable() {
+        Random random = new Random(11);
+        PickColumns columns = new PickColumns();
+        List<long[]> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            // Mostly in order, some slightly late and a few very late arrivals.
+            long timestamp = i * 10L - (random.nextInt(10) == 0 ? random.nextInt(100) : 0)
+                    - (random.nextInt(1_000) == 0 ? 50_000 : 0);
+            columns.add(timestamp, i);
+            expected.add(new long[]{timestamp, i});
+        }
+        expected.sort(Comparator.comparingLong(pick -> pick[0]));
+
+        columns.sort();
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i)[0], columns.timestampAt(i));
+            assertEquals(expected.get(i)[1], columns.articleCodeAt(i));
+        }
+    }
+
+    @Test
+    void exposesPickItemViews() {
+        PickColumns columns = new PickColumns();
+        columns.add(2_000, 1);
+        columns.add(1_000, 0);
+        columns.sort();
+
+        List<Picker.PickItem> items = columns.asPickItems(List.of("ACME BANANAS", "ACME APPLES"));
+
+        assertEquals(2, items.size());
+        assertEquals("ACME BANANAS", items.get(0).getArticleName());
+        assertEquals(1_000, items.get(0).getTimestamp());
+        assertEquals("ACME APPLES", items.get(1).getArticleName());
+        assertThrows(IndexOutOfBoundsException.class, () -> items.get(2));
+    }
+}
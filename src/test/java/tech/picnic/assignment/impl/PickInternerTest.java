@@ -0,0 +1,49 @@
+package tech.picnic.assignment.impl;
+
+import org.junit.jupiter.api.Test;
+import tech.picnic.assignment.models.Article;
+import tech.picnic.assignment.models.Picker;
+import tech.picnic.assignment.models.TemperatureZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class PickInternerTest {
+
+    @Test
+    void sharesCanonicalInstancesAcrossEvents() {
+        PickInterner interner = new PickInterner(10, 10);
+
+        Picker first = interner.canonicalPicker(new Picker("14", "Joris", 0L));
+        Picker second = interner.canonicalPicker(new Picker("14", "Joris", 0L));
+        String firstName = interner.upperCaseName(article("ACME Bananas"));
+        String secondName = interner.upperCaseName(article("ACME Bananas"));
+
+        assertSame(first, second);
+        assertSame(firstName, secondName);
+        assertEquals("ACME BANANAS", secondName);
+    }
+
+    @Test
+    void refreshesChangedMetadata() {
+        PickInterner interner = new PickInterner(10, 10);
+        interner.canonicalPicker(new Picker("14", "Joris", 0L));
+        interner.upperCaseName(article("ACME Bananas"));
+
+        assertEquals("Jorrit", interner.canonicalPicker(new Picker("14", "Jorrit", 0L)).getName());
+        assertEquals("ACME PLANTAINS", interner.upperCaseName(article("ACME Plantains")));
+    }
+
+    @Test
+    void boundedCacheEvictsBeyondItsCap() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(32);
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, i);
+            assertEquals(i, cache.get(i));
+            assertTrue(cache.size() <= 32);
+        }
+    }
+
+    private static Article article(final String name) {
+        return new Article("13473", name, TemperatureZone.AMBIENT);
+    }
+}
@@ -0,0 +1,87 @@
+package tech.picnic.assignment.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import tech.picnic.assignment.api.EventProcessorFactory;
+import tech.picnic.assignment.api.StreamProcessor;
+import tech.picnic.assignment.utils.AppConfigWatcher;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class PickSpillTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @CsvSource({"7, 1", "100, 1", "5000, 1", "100, 4"})
+    void spilledOutputEqualsInMemoryOutput(final int maxPicksInMemory, final int decodeWorkers) throws IOException {
+        byte[] input = ParallelPickReaderTest.generateInput(20_000, new Random(maxPicksInMemory));
+        Path spillDirectory = tempDir.resolve("spill");
+
+        String inMemory = process(input, "decode_workers=" + decodeWorkers);
+        String spilled = process(input, "decode_workers=" + decodeWorkers
+                + "\nspill_heap_budget_bytes=" + maxPicksInMemory * PickSpill.ESTIMATED_BYTES_PER_PICK
+                + "\nspill_directory=" + spillDirectory.toString().replace('\\', '/'));
+
+        assertEquals(inMemory, spilled);
+        try (Stream<Path> runs = Files.list(spillDirectory)) {
+            assertEquals(0, runs.count(), "Run files should be deleted after processing");
+        }
+    }
+
+    @Test
+    void runFileRoundTripsPicks() throws IOException {
+        long[] timestamps = {-5_000L, -1L, 0L, 0L, 1_545_306_648_000L, Long.MAX_VALUE / 2};
+        Path file = tempDir.resolve("picks.run");
+
+        try (PickRunFile.Writer writer = new PickRunFile.Writer(file)) {
+            writer.startGroup(3, timestamps.length);
+            for (int i = 0; i < timestamps.length; i++) {
+                writer.add(timestamps[i], i * 1_000);
+            }
+            writer.startGroup(0, 1);
+            writer.add(42L, 7);
+        }
+
+        try (PickRunFile.Reader reader = new PickRunFile.Reader(file)) {
+            for (int i = 0; i < timestamps.length; i++) {
+                assertTrue(reader.next());
+                assertEquals(3, reader.pickerIndex());
+                assertEquals(timestamps[i], reader.timestamp());
+                assertEquals(i * 1_000, reader.articleCode());
+            }
+            assertTrue(reader.next());
+            assertEquals(0, reader.pickerIndex());
+            assertEquals(42L, reader.timestamp());
+            assertEquals(7, reader.articleCode());
+            assertFalse(reader.next());
+        }
+    }
+
+    private String process(final byte[] input, final String properties) throws IOException {
+        Path config = Files.createTempFile(tempDir, "config-", ".properties");
+        Files.writeString(config, properties);
+
+        try (EventProcessorFactory factory =
+                     new PickingEventProcessorFactory(new AppConfigWatcher(Optional.of(config)));
+             StreamProcessor processor = factory.createProcessor(Integer.MAX_VALUE, Duration.ofMinutes(1));
+             ByteArrayOutputStream sink = new ByteArrayOutputStream()) {
+            processor.process(new ByteArrayInputStream(input), sink);
+            return new String(sink.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package tech.picnic.assignment.impl;
+
+import org.junit.jupiter.api.Test;
+import tech.picnic.assignment.dtos.Picker;
+import tech.picnic.assignment.utils.JsonUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class PickerResultWriterTest {
+
+    @Test
+    void writesSameDocumentAsStringSerialization() throws IOException {
+        Picker joris = new Picker("14", "Joris", 1537431600000L);
+        joris.getPickItemList().add(new Picker.PickItem("ACME BANANAS", 1545306648000L));
+        joris.getPickItemList().add(new Picker.PickItem("ACME APPLES", 1545306660000L));
+        Picker jan = new Picker("15", "Jan", 1542183615000L);
+        jan.getPickItemList().add(new Picker.PickItem("ACME BANANAS", 1545306649000L));
+        List<Picker> pickers = List.of(joris, jan);
+
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        new PickerResultWriter(16, 1).write(pickers, sink);
+
+        assertEquals(JsonUtils.serialize(pickers), new String(sink.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writesEmptyArrayAndLeavesSinkOpen() throws IOException {
+        FlagOnCloseOutputStream sink = new FlagOnCloseOutputStream();
+        new PickerResultWriter(64 * 1024, 1_000).write(Collections.emptyList(), sink);
+
+        assertEquals("[]", new String(sink.toByteArray(), StandardCharsets.UTF_8));
+        assertFalse(sink.closed, "Sink should not be closed by the writer");
+    }
+
+    private static final class FlagOnCloseOutputStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -2,22 +2,39 @@ package tech.picnic.assignment.impl;
 
 import org.json.JSONException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.skyscreamer.jsonassert.JSONAssert;
 import org.skyscreamer.jsonassert.JSONCompareMode;
 import tech.picnic.assignment.api.EventProcessorFactory;
 import tech.picnic.assignment.api.StreamProcessor;
+import tech.picnic.assignment.utils.AppConfigWatcher;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
 import java.util.Scanner;
 import java.util.ServiceLoader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -84,11 +101,171 @@ final class PickingEventProcessorFactoryTest {
                         100,
                         Duration.ofSeconds(10),
                         "input-contains-only-chilled-items.json-stream",
-                        "output-zero-result.json"));
+                        "output-zero-result.json"),
+
+                // Check : Keep-alive lines are skipped and do not count towards maxEvents
+                Arguments.of(
+                        3,
+                        Duration.ofSeconds(30),
+                        "input-with-keep-alive-lines.json-stream",
+                        "happy-path-output.json"),
+
+                // Check : Leading keep-alive lines do not count towards maxEvents
+                Arguments.of(
+                        1,
+                        Duration.ofSeconds(30),
+                        "input-with-keep-alive-lines.json-stream",
+                        "output-only-one-result.json"));
 
 
     }
 
+    @ParameterizedTest
+    @MethodSource("compressedTestCaseInputProvider")
+    void compressedInputGivesSameOutput(
+            int maxEvents,
+            Duration maxTime,
+            String inputResource,
+            String expectedOutputResource)
+            throws IOException, JSONException {
+        testHappyPath(maxEvents, maxTime, inputResource, expectedOutputResource);
+    }
+
+    static Stream<Arguments> compressedTestCaseInputProvider() {
+        return happyPathTestCaseInputProvider()
+                .flatMap(arguments -> Stream.of(".gz", ".zst").map(extension -> {
+                    Object[] values = arguments.get().clone();
+                    values[2] = values[2] + extension;
+                    return Arguments.of(values);
+                }));
+    }
+
+    @Test
+    void repeatedCallsOnSameProcessorStartFromEmptyBatch() throws IOException, JSONException {
+        String[][] batches = {
+                {"happy-path-input.json-stream", "happy-path-output.json"},
+                {"input-contains-only-chilled-items.json-stream", "output-zero-result.json"},
+                {"input-pickers-same-name-but-different-Id.json-stream",
+                        "output-pickers-same-name-but-different-Id.json"},
+                {"happy-path-input.json-stream", "happy-path-output.json"}};
+
+        try (EventProcessorFactory factory = new PickingEventProcessorFactory();
+             StreamProcessor processor = factory.createProcessor(100, Duration.ofSeconds(30))) {
+            for (String[] batch : batches) {
+                try (InputStream source = getClass().getResourceAsStream(batch[0]);
+                     ByteArrayOutputStream sink = new ByteArrayOutputStream()) {
+                    processor.process(source, sink);
+                    JSONAssert.assertEquals(loadResource(batch[1]),
+                            new String(sink.toByteArray(), StandardCharsets.UTF_8), JSONCompareMode.STRICT);
+                }
+            }
+        }
+    }
+
+    @Test
+    void compressedFileInputIsNotMapped(@TempDir Path tempDir) throws IOException, JSONException {
+        Path file = tempDir.resolve("input.json-stream.gz");
+        try (InputStream resource = getClass().getResourceAsStream("happy-path-input.json-stream.gz")) {
+            Files.copy(resource, file);
+        }
+
+        try (EventProcessorFactory factory = new PickingEventProcessorFactory();
+             StreamProcessor processor = factory.createProcessor(100, Duration.ofSeconds(30));
+             InputStream source = new FileInputStream(file.toFile());
+             ByteArrayOutputStream sink = new ByteArrayOutputStream()) {
+            processor.process(source, sink);
+            JSONAssert.assertEquals(loadResource("happy-path-output.json"),
+                    new String(sink.toByteArray(), StandardCharsets.UTF_8), JSONCompareMode.STRICT);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 100})
+    void fileInputCountsEventsAlikeWithOneOrMoreDecodeWorkers(final int maxEvents, @TempDir Path tempDir)
+            throws IOException, JSONException {
+        // Blank, whitespace-only and CRLF keep-alive lines around and between the events.
+        List<String> events = Files.readAllLines(Path.of(
+                Objects.requireNonNull(getClass().getResource("happy-path-input.json-stream")).getPath()));
+        StringBuilder input = new StringBuilder("\n \t\n");
+        for (String event : events) {
+            input.append(event).append("\n\r\n   \n");
+        }
+        Path file = tempDir.resolve("input.json-stream");
+        Files.writeString(file, input);
+
+        String expected = null;
+        for (int decodeWorkers : new int[]{1, 4}) {
+            Path config = tempDir.resolve("config-" + decodeWorkers + ".properties");
+            Files.writeString(config, "decode_workers=" + decodeWorkers);
+            try (EventProcessorFactory factory =
+                         new PickingEventProcessorFactory(new AppConfigWatcher(Optional.of(config)));
+                 StreamProcessor processor = factory.createProcessor(maxEvents, Duration.ofSeconds(30));
+                 InputStream source = new FileInputStream(file.toFile());
+                 ByteArrayOutputStream sink = new ByteArrayOutputStream()) {
+                processor.process(source, sink);
+                String actual = new String(sink.toByteArray(), StandardCharsets.UTF_8);
+                if (Objects.isNull(expected)) {
+                    expected = actual;
+                } else {
+                    JSONAssert.assertEquals(expected, actual, JSONCompareMode.STRICT);
+                }
+            }
+        }
+        if (maxEvents == 1) {
+            JSONAssert.assertEquals(loadResource("output-only-one-result.json"), expected, JSONCompareMode.STRICT);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 5, 100})
+    void irregularLinesCountAlikeWithOneOrMoreDecodeWorkers(final int maxEvents, @TempDir Path tempDir)
+            throws IOException {
+        List<String> events = new ArrayList<>();
+        for (String line : new String(ParallelPickReaderTest.generateInput(10, new Random(17)),
+                StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                events.add(line);
+            }
+        }
+        // A line holding two events, and an event split over two lines.
+        String split = events.get(3);
+        String input = events.get(0) + "\n"
+                + events.get(1) + " " + events.get(2) + "\n\n"
+                + split.substring(0, split.indexOf(',') + 1) + "\n" + split.substring(split.indexOf(',') + 1) + "\n"
+                + String.join("\n", events.subList(4, events.size())) + "\n";
+
+        List<String> results = new ArrayList<>();
+        for (int decodeWorkers : new int[]{1, 4}) {
+            Path config = tempDir.resolve("config-" + decodeWorkers + ".properties");
+            Files.writeString(config, "decode_workers=" + decodeWorkers);
+            try (EventProcessorFactory factory =
+                         new PickingEventProcessorFactory(new AppConfigWatcher(Optional.of(config)));
+                 StreamProcessor processor = factory.createProcessor(maxEvents, Duration.ofSeconds(30));
+                 ByteArrayOutputStream sink = new ByteArrayOutputStream()) {
+                processor.process(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), sink);
+                results.add(new String(sink.toByteArray(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                // A cutoff within the split event leaves half an event to decode.
+                results.add("Failed to decode");
+            }
+        }
+        assertEquals(results.get(0), results.get(1));
+        assertEquals(maxEvents == 3, results.get(0).equals("Failed to decode"));
+    }
+
+    @Test
+    void testEmptyCompressedInputStream() throws IOException {
+        for (String resource : new String[]{"empty-input.json-stream.gz", "empty-input.json-stream.zst"}) {
+            try (EventProcessorFactory factory = new PickingEventProcessorFactory();
+                 StreamProcessor processor = factory.createProcessor(100, Duration.ofSeconds(30));
+                 InputStream source = getClass().getResourceAsStream(resource);
+                 ByteArrayOutputStream sink = new ByteArrayOutputStream()) {
+                processor.process(source, sink);
+                assertEquals("[]", new String(sink.toByteArray(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
     @Test
     void maxEventSizeZeroShouldReturnEmptyString() throws IOException {
         try (EventProcessorFactory factory = new PickingEventProcessorFactory();
@@ -137,6 +314,142 @@ final class PickingEventProcessorFactoryTest {
         }
     }
 
+    @Test
+    void idleStreamReturnsEventsReadBeforeDeadline() throws IOException, JSONException {
+        try (EventProcessorFactory factory = new PickingEventProcessorFactory();
+             StreamProcessor processor = factory.createProcessor(100, Duration.ofMillis(500));
+             PipedOutputStream producer = new PipedOutputStream();
+             InputStream source = new PipedInputStream(producer);
+             ByteArrayOutputStream sink = new ByteArrayOutputStream()) {
+            // Only the first event arrives; the stream then stays idle without being closed.
+            String firstEvent = new Scanner(getClass().getResourceAsStream("happy-path-input.json-stream"),
+                    StandardCharsets.UTF_8).nextLine();
+            producer.write((firstEvent + "\n\n").getBytes(StandardCharsets.UTF_8));
+            producer.flush();
+
+            long start = System.nanoTime();
+            processor.process(source, sink);
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0,
+                    "Processing should stop at the deadline");
+            JSONAssert.assertEquals(loadResource("output-only-one-result.json"),
+                    new String(sink.toByteArray(), StandardCharsets.UTF_8), JSONCompareMode.STRICT);
+        }
+    }
+
+    @Test
+    void timedOutCallsDoNotLeaveReadersOnAnEndlessSource() throws IOException, InterruptedException {
+        try (EventProcessorFactory factory = new PickingEventProcessorFactory();
+             StreamProcessor processor = factory.createProcessor(100, Duration.ofMillis(20));
+             InputStream source = new UninterruptibleSource(new CountDownLatch(0))) {
+            int readersBefore = liveReaderThreads();
+            for (int i = 0; i < 25; i++) {
+                ByteArrayOutputStream sink = new ByteArrayOutputStream();
+                processor.process(source, sink);
+                assertEquals("[]", new String(sink.toByteArray(), StandardCharsets.UTF_8));
+            }
+            // The reader of the last call stops at its next keep-alive line.
+            Thread.sleep(100);
+            assertTrue(liveReaderThreads() - readersBefore <= 2,
+                    "Timed-out calls should not keep reading the source in the background");
+        }
+    }
+
+    @Test
+    void timedOutCallsStartNoSecondReaderOnABlockedSource() throws IOException, InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        try (EventProcessorFactory factory = new PickingEventProcessorFactory();
+             StreamProcessor processor = factory.createProcessor(100, Duration.ofMillis(20));
+             InputStream source = new UninterruptibleSource(release)) {
+            int readersBefore = liveReaderThreads();
+            for (int i = 0; i < 25; i++) {
+                long start = System.nanoTime();
+                processor.process(source, new ByteArrayOutputStream());
+                assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0,
+                        "Processing should stop at the deadline");
+            }
+            assertTrue(liveReaderThreads() - readersBefore <= 1,
+                    "A blocked source should hold at most one reader thread");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void abandonedReaderOverlappingTheNextCallLeavesItsBatchAlone(@TempDir Path tempDir)
+            throws IOException, JSONException {
+        List<String> events = Files.readAllLines(Path.of(
+                Objects.requireNonNull(getClass().getResource("happy-path-input.json-stream")).getPath()));
+        Path config = tempDir.resolve("config.properties");
+        Files.writeString(config, "dedup_memory_budget_bytes=1048576");
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (EventProcessorFactory factory =
+                     new PickingEventProcessorFactory(new AppConfigWatcher(Optional.of(config)));
+             StreamProcessor processor = factory.createProcessor(100, Duration.ofMillis(500))) {
+            // The first call reads one event, then gives up on its reader, blocked on a source ignoring interrupts.
+            InputStream stalled = new SequenceInputStream(
+                    new ByteArrayInputStream((events.get(0) + "\n").getBytes(StandardCharsets.UTF_8)),
+                    new UninterruptibleSource(release));
+            processor.process(stalled, new ByteArrayOutputStream());
+
+            // The next call reads the same event while the abandoned reader still runs.
+            try (InputStream source = getClass().getResourceAsStream("happy-path-input.json-stream");
+                 ByteArrayOutputStream sink = new ByteArrayOutputStream()) {
+                processor.process(source, sink);
+                JSONAssert.assertEquals(loadResource("happy-path-output.json"),
+                        new String(sink.toByteArray(), StandardCharsets.UTF_8), JSONCompareMode.STRICT);
+            }
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static int liveReaderThreads() {
+        return (int) Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("picking-event-reader-"))
+                .count();
+    }
+
+    /**
+     * Endless source of keep-alive lines which, like {@code System.in}, ignores interrupts: each read blocks for a
+     * millisecond once the given latch has been released, and until then.
+     */
+    private static final class UninterruptibleSource extends InputStream {
+        private final CountDownLatch release;
+
+        UninterruptibleSource(final CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public int read() {
+            byte[] line = new byte[1];
+            read(line, 0, 1);
+            return line[0];
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+            boolean interrupted = false;
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1);
+            while (release.getCount() > 0 || System.nanoTime() < deadline) {
+                try {
+                    release.await(1, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            bytes[offset] = '\n';
+            return 1;
+        }
+    }
+
     private String loadResource(String resource) throws IOException {
         try (InputStream is = getClass().getResourceAsStream(resource);
              Scanner scanner = new Scanner(is, StandardCharsets.UTF_8)) {
@@ -0,0 +1,94 @@
+package tech.picnic.assignment.impl;
+
+import org.junit.jupiter.api.Test;
+import tech.picnic.assignment.models.Picker;
+import tech.picnic.assignment.utils.AppConfig;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class ProcessorArenaTest {
+
+    private static final Picker PICKER = new Picker("14", "Joris", 1_537_431_600_000L);
+
+    @Test
+    void reusesResetStorageForTheNextBatch() throws IOException {
+        AppConfig config = config("1000", "1024");
+        ProcessorArena arena = new ProcessorArena(OutputMode.PICKS);
+
+        PickGrouping grouping;
+        PickerResultWriter writer;
+        try (ProcessorArena.Lease lease = arena.acquire()) {
+            grouping = lease.grouping(config);
+            writer = lease.writer(config);
+            grouping.add(PICKER, "ACME BANANAS", 1_545_306_648_000L, 1);
+            assertTrue(lease.idFilter(config).firstSeen("1"));
+        }
+        try (ProcessorArena.Lease lease = arena.acquire()) {
+            assertSame(grouping, lease.grouping(config));
+            assertSame(writer, lease.writer(config));
+            assertEquals(0, grouping.pickerCount());
+            assertTrue(lease.idFilter(config).firstSeen("1"), "Ids of the previous batch should be forgotten");
+        }
+    }
+
+    @Test
+    void dropsGroupingOfUnusuallyLargeBatch() throws IOException {
+        AppConfig config = config("2", "0");
+        ProcessorArena arena = new ProcessorArena(OutputMode.PICKS);
+
+        PickGrouping grouping;
+        try (ProcessorArena.Lease lease = arena.acquire()) {
+            grouping = lease.grouping(config);
+            for (int i = 0; i < 3; i++) {
+                grouping.add(PICKER, "ACME BANANAS", 1_545_306_648_000L + i, 1);
+            }
+        }
+        try (ProcessorArena.Lease lease = arena.acquire()) {
+            assertNotSame(grouping, lease.grouping(config));
+            assertNull(lease.idFilter(config));
+        }
+    }
+
+    @Test
+    void neverReusesStorageOfAnAbandonedReader() throws IOException {
+        AppConfig config = config("1000", "1024");
+        ProcessorArena arena = new ProcessorArena(OutputMode.PICKS);
+
+        PickGrouping abandonedGrouping;
+        EventIdFilter abandonedFilter;
+        try (ProcessorArena.Lease lease = arena.acquire()) {
+            abandonedGrouping = lease.grouping(config);
+            abandonedFilter = lease.idFilter(config);
+            lease.abandon();
+        }
+        try (ProcessorArena.Lease next = arena.acquire()) {
+            // The abandoned reader overlaps the next call, still recording ids of its stream.
+            abandonedFilter.firstSeen("1");
+            assertNotSame(abandonedGrouping, next.grouping(config));
+            assertNotSame(abandonedFilter, next.idFilter(config));
+            assertTrue(next.idFilter(config).firstSeen("1"), "Ids of the abandoned reader should not be seen");
+        }
+    }
+
+    @Test
+    void givesConcurrentCallsStorageOfTheirOwn() throws IOException {
+        AppConfig config = config("1000", "0");
+        ProcessorArena arena = new ProcessorArena(OutputMode.SUMMARY);
+
+        try (ProcessorArena.Lease first = arena.acquire(); ProcessorArena.Lease second = arena.acquire()) {
+            assertNotSame(first, second);
+            assertNotSame(first.grouping(config), second.grouping(config));
+            assertEquals(OutputMode.SUMMARY, first.grouping(config).getMode());
+        }
+    }
+
+    private static AppConfig config(final String maxRetainedPicks, final String dedupBudget) {
+        Properties properties = new Properties();
+        properties.setProperty("arena_max_retained_picks", maxRetainedPicks);
+        properties.setProperty("dedup_memory_budget_bytes", dedupBudget);
+        return AppConfig.fromProperties(properties);
+    }
+}
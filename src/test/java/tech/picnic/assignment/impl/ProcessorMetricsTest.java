@@ -0,0 +1,124 @@
+package tech.picnic.assignment.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tech.picnic.assignment.api.EventProcessorFactory;
+import tech.picnic.assignment.api.StreamProcessor;
+import tech.picnic.assignment.utils.AppConfigWatcher;
+
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class ProcessorMetricsTest {
+
+    private static final MBeanServer SERVER = ManagementFactory.getPlatformMBeanServer();
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void countsLinesEventsAndEndReason(final int decodeWorkers) throws Exception {
+        try (EventProcessorFactory factory = factory("metrics_enabled=true\ndecode_workers=" + decodeWorkers)) {
+            ObjectName name = registeredName();
+            ProcessorMetricsMXBean metrics = JMX.newMXBeanProxy(SERVER, name, ProcessorMetricsMXBean.class);
+
+            try (StreamProcessor processor = factory.createProcessor(3, Duration.ofSeconds(30));
+                 InputStream source = getClass().getResourceAsStream("input-with-keep-alive-lines.json-stream")) {
+                processor.process(source, new ByteArrayOutputStream());
+            }
+
+            assertEquals(1, metrics.getProcessCalls());
+            assertEquals(4, metrics.getKeepAlives());
+            assertEquals(7, metrics.getLinesRead());
+            assertEquals(3, metrics.getEventsAccepted() + metrics.getEventsFiltered());
+            assertEquals(1, metrics.getBatchesEndedOnMaxEvents());
+            assertEquals("MAX_EVENTS", metrics.getLastEndReason());
+
+            TabularData latencies = (TabularData) SERVER.getAttribute(name, "Latencies");
+            for (String stage : List.of("READ", "DECODE", "GROUP", "SORT", "WRITE", "PROCESS")) {
+                CompositeData summary = (CompositeData) latencies.get(new Object[]{stage}).get("value");
+                assertEquals(1L, summary.get("count"), stage);
+            }
+        }
+        assertTrue(registeredNames().isEmpty(), "Metrics should be unregistered when the factory is closed");
+    }
+
+    @Test
+    void countsParseFailuresAndEndOfInput() throws Exception {
+        try (EventProcessorFactory factory = factory("metrics_enabled=true");
+             StreamProcessor processor = factory.createProcessor(100, Duration.ofSeconds(30))) {
+            ProcessorMetricsMXBean metrics =
+                    JMX.newMXBeanProxy(SERVER, registeredName(), ProcessorMetricsMXBean.class);
+
+            processor.process(new ByteArrayInputStream(new byte[0]), new ByteArrayOutputStream());
+            assertThrows(IOException.class, () -> processor.process(
+                    new ByteArrayInputStream("{\"id\":".getBytes(StandardCharsets.UTF_8)),
+                    new ByteArrayOutputStream()));
+
+            assertEquals(2, metrics.getProcessCalls());
+            assertEquals(1, metrics.getParseFailures());
+            assertEquals(1, metrics.getBatchesEndedOnEndOfInput());
+        }
+    }
+
+    @Test
+    void countsLinesAsRead() throws Exception {
+        try (EventProcessorFactory factory = factory("metrics_enabled=true");
+             StreamProcessor processor = factory.createProcessor(100, Duration.ofSeconds(30));
+             InputStream source = getClass().getResourceAsStream("happy-path-input.json-stream")) {
+            ProcessorMetricsMXBean metrics =
+                    JMX.newMXBeanProxy(SERVER, registeredName(), ProcessorMetricsMXBean.class);
+
+            // All events of the input on a single line.
+            String singleLine = new String(source.readAllBytes(), StandardCharsets.UTF_8).replace("\n", " ");
+            processor.process(new ByteArrayInputStream(singleLine.getBytes(StandardCharsets.UTF_8)),
+                    new ByteArrayOutputStream());
+
+            assertEquals(1, metrics.getLinesRead());
+            assertTrue(metrics.getEventsAccepted() + metrics.getEventsFiltered() > 1);
+        }
+    }
+
+    @Test
+    void registersNothingWhenDisabled() throws Exception {
+        try (EventProcessorFactory factory = factory("metrics_enabled=false")) {
+            assertTrue(registeredNames().isEmpty());
+        }
+    }
+
+    private EventProcessorFactory factory(final String properties) throws IOException {
+        Path config = Files.createTempFile(tempDir, "config-", ".properties");
+        Files.writeString(config, properties);
+        return new PickingEventProcessorFactory(new AppConfigWatcher(Optional.of(config)));
+    }
+
+    private static ObjectName registeredName() throws Exception {
+        Set<ObjectName> names = registeredNames();
+        assertEquals(1, names.size());
+        return names.iterator().next();
+    }
+
+    private static Set<ObjectName> registeredNames() throws Exception {
+        return SERVER.queryNames(new ObjectName("tech.picnic.assignment:type=PickingStreamProcessor,*"), null);
+    }
+}
@@ -0,0 +1,87 @@
+package tech.picnic.assignment.impl;
+
+import org.junit.jupiter.api.Test;
+import tech.picnic.assignment.models.Picker;
+import tech.picnic.assignment.utils.JsonUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class StripedPickGroupingTest {
+
+    private static final int THREADS = 4;
+
+    @Test
+    void concurrentAdditionsGiveSameResultAsSingleThread() throws Exception {
+        List<Picker> pickers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            pickers.add(new Picker(String.valueOf(i), "Picker " + i, 1_545_300_000_000L + i % 7));
+        }
+        // Every thread adds the picks of its own pickers, in the order of a single-threaded grouping.
+        Random random = new Random(13);
+        List<List<long[]>> picksPerThread = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            picksPerThread.add(new ArrayList<>());
+        }
+        PickGrouping expected = new PickGrouping();
+        for (int i = 0; i < 100_000; i++) {
+            int picker = random.nextInt(pickers.size());
+            long timestamp = 1_545_306_648_000L + random.nextInt(1_000) * 1_000L;
+            int article = random.nextInt(50);
+            expected.add(pickers.get(picker), "ARTICLE " + article, timestamp, 1);
+            picksPerThread.get(picker % THREADS).add(new long[]{picker, timestamp, article});
+        }
+
+        StripedPickGrouping striped = new StripedPickGrouping(THREADS, OutputMode.PICKS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (List<long[]> picks : picksPerThread) {
+                futures.add(executor.submit(() -> {
+                    for (long[] pick : picks) {
+                        assertTrue(striped.add(pickers.get((int) pick[0]), "ARTICLE " + pick[2], pick[1], 1));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        PickGrouping actual = new PickGrouping();
+        striped.seal();
+        striped.drainTo(actual);
+
+        assertEquals(JsonUtils.serialize(expected.toSortedPickers()), JsonUtils.serialize(actual.toSortedPickers()));
+        assertFalse(striped.add(pickers.get(0), "ARTICLE 0", 0, 1), "Sealed grouping rejects picks");
+    }
+
+    @Test
+    void mergesSummariesOfAllStripes() throws IOException {
+        StripedPickGrouping striped = new StripedPickGrouping(2, OutputMode.SUMMARY);
+        assertEquals(8, striped.stripeCount());
+        Picker picker = new Picker("1", "Picker 1", 1_545_300_000_000L);
+        striped.add(picker, "ARTICLE 1", 2_000, 3);
+        striped.add(picker, "ARTICLE 2", 1_000, 4);
+
+        PickGrouping grouping = new PickGrouping(null, OutputMode.SUMMARY);
+        assertThrows(IllegalStateException.class, () -> striped.drainTo(grouping), "Open grouping cannot be drained");
+        striped.seal();
+        striped.drainTo(grouping);
+
+        assertEquals(1, grouping.sortedSummaries().size());
+        assertEquals(2, grouping.sortedSummaries().get(0).getPickCount());
+        assertEquals(7, grouping.sortedSummaries().get(0).getTotalQuantity());
+        assertEquals(1_000, grouping.sortedSummaries().get(0).getFirstPickTimestamp());
+        assertEquals(2_000, grouping.sortedSummaries().get(0).getLastPickTimestamp());
+    }
+}
@@ -0,0 +1,32 @@
+package tech.picnic.assignment.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TextTableTest {
+
+    @Test
+    void returnsHeldStringForEqualText() {
+        TextTable table = new TextTable(16);
+        char[] buffer = "xxJorisxxJoris".toCharArray();
+
+        String first = table.get(buffer, 2, 5);
+        assertEquals("Joris", first);
+        assertSame(first, table.get(buffer, 9, 5));
+        assertEquals("Jor", table.get(buffer, 2, 3));
+        assertEquals("", table.get(buffer, 0, 0));
+    }
+
+    @Test
+    void startsOverOnceFull() {
+        TextTable table = new TextTable(2);
+        String first = table.get("a".toCharArray(), 0, 1);
+        table.get("b".toCharArray(), 0, 1);
+        assertSame(first, table.get("a".toCharArray(), 0, 1));
+
+        table.get("c".toCharArray(), 0, 1);
+        assertNotSame(first, table.get("a".toCharArray(), 0, 1));
+        assertEquals(first, table.get("a".toCharArray(), 0, 1));
+    }
+}
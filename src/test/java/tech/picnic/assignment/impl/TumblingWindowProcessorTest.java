@@ -0,0 +1,116 @@
+package tech.picnic.assignment.impl;
+
+import org.junit.jupiter.api.Test;
+import tech.picnic.assignment.api.StreamProcessor;
+import tech.picnic.assignment.tools.PickEventGenerator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TumblingWindowProcessorTest {
+
+    @Test
+    void closesWindowsOnMaxEvents() throws IOException {
+        List<String> lines = generateLines(2_000);
+        byte[] input = (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+
+        try (PickingEventProcessorFactory factory = new PickingEventProcessorFactory();
+             StreamProcessor processor = factory.createProcessor(300, Duration.ofMinutes(1))) {
+            ByteArrayOutputStream sink = new ByteArrayOutputStream();
+            ((PickingStreamProcessor) processor).processContinuously(
+                    new ByteArrayInputStream(input), sink, WindowFraming.NEWLINE_DELIMITED);
+
+            List<String> documents = Arrays.asList(sink.toString(StandardCharsets.UTF_8).split("\n"));
+            assertEquals(7, documents.size());
+            for (int window = 0; window < documents.size(); window++) {
+                List<String> windowLines = lines.subList(window * 300, Math.min(lines.size(), (window + 1) * 300));
+                assertEquals(process(processor, windowLines), documents.get(window), "Window " + window);
+            }
+        }
+    }
+
+    @Test
+    void closesWindowsOnMaxTimeWithoutLosingInput() throws Exception {
+        List<String> lines = generateLines(3);
+        PipedOutputStream feed = new PipedOutputStream();
+        PipedInputStream source = new PipedInputStream(feed);
+
+        try (PickingEventProcessorFactory factory = new PickingEventProcessorFactory();
+             StreamProcessor processor = factory.createProcessor(100, Duration.ofMillis(200))) {
+            ByteArrayOutputStream sink = new ByteArrayOutputStream();
+            CompletableFuture<Void> processing = CompletableFuture.runAsync(() -> {
+                try {
+                    ((PickingStreamProcessor) processor).processContinuously(
+                            source, sink, WindowFraming.LENGTH_PREFIXED);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            feed.write((lines.get(0) + "\n" + lines.get(1) + "\n").getBytes(StandardCharsets.UTF_8));
+            feed.flush();
+            Thread.sleep(500);
+            feed.write(lines.get(2).getBytes(StandardCharsets.UTF_8));
+            feed.close();
+            processing.get();
+
+            List<String> documents = readLengthPrefixed(sink.toByteArray());
+            assertTrue(documents.size() >= 3, "Expected windows closed by time, got " + documents);
+            assertEquals(process(processor, lines.subList(0, 2)), documents.get(0));
+            assertEquals(process(processor, lines.subList(2, 3)), documents.get(documents.size() - 1));
+            documents.subList(1, documents.size() - 1).forEach(document -> assertEquals("[]", document));
+        }
+    }
+
+    @Test
+    void rejectsNonPositiveLimits() {
+        try (PickingEventProcessorFactory factory = new PickingEventProcessorFactory();
+             StreamProcessor processor = factory.createProcessor(0, Duration.ofSeconds(1))) {
+            assertThrows(IllegalArgumentException.class, () -> ((PickingStreamProcessor) processor)
+                    .processContinuously(new ByteArrayInputStream(new byte[0]), new ByteArrayOutputStream(),
+                            WindowFraming.NEWLINE_DELIMITED));
+        }
+    }
+
+    private static String process(final StreamProcessor processor, final List<String> lines) throws IOException {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        processor.process(
+                new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)), sink);
+        return sink.toString(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readLengthPrefixed(final byte[] bytes) throws IOException {
+        List<String> documents = new ArrayList<>();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        while (in.available() > 0) {
+            byte[] document = new byte[in.readInt()];
+            in.readFully(document);
+            documents.add(new String(document, StandardCharsets.UTF_8));
+        }
+        return documents;
+    }
+
+    private static List<String> generateLines(final int eventCount) {
+        PickEventGenerator generator = new PickEventGenerator(PickEventGenerator.Settings.defaults()
+                .withEventCount(eventCount)
+                .withPickerCount(20)
+                .withSilences(0, 0, 1));
+        List<String> lines = new ArrayList<>();
+        while (generator.hasNext()) {
+            lines.add(generator.next());
+        }
+        return lines;
+    }
+}
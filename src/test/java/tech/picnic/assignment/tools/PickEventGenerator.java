@@ -0,0 +1,296 @@
+package tech.picnic.assignment.tools;
+
+import tech.picnic.assignment.utils.IsoTimestamps;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Deterministic generator of synthetic pick traffic in the newline-delimited event format of the README. For a given
+ * seed and settings it always produces the same lines with the same schedule.
+ *
+ * <p>Traffic follows a virtual clock: events arrive at the target rate on average, with exponentially distributed
+ * gaps, occasional bursts of back-to-back events and occasional silences, during which only keep-alive lines are
+ * sent. Picker activity is Zipf-distributed, each article has a fixed temperature zone, and a share of the events
+ * carries a timestamp earlier than its arrival.
+ */
+public final class PickEventGenerator {
+
+    private static final long START_MILLIS = 1_545_306_648_000L;
+
+    private final Settings settings;
+    private final Random random;
+    private final double[] pickerCumulativeWeights;
+    private final boolean[] chilledArticles;
+    private final StringBuilder line = new StringBuilder(320);
+
+    private long eventsLeft;
+    private long nextEventId;
+    private long clockMillis;
+    private int burstLeft;
+    private long silenceUntilMillis = -1;
+    private long lineDueMillis;
+
+    public PickEventGenerator(final Settings settings) {
+        this.settings = settings;
+        this.random = new Random(settings.seed);
+        this.pickerCumulativeWeights = zipfCumulativeWeights(settings.pickerCount, settings.pickerSkew);
+        this.chilledArticles = new boolean[settings.articleCount];
+        for (int i = 0; i < chilledArticles.length; i++) {
+            chilledArticles[i] = random.nextDouble() < settings.chilledRatio;
+        }
+        this.eventsLeft = settings.eventCount;
+    }
+
+    public boolean hasNext() {
+        return eventsLeft > 0;
+    }
+
+    /**
+     * This function generates the next line, an event or a keep-alive, and advances the virtual clock to its
+     * arrival.
+     *
+     * @return String - the line, without its trailing newline; empty for a keep-alive.
+     */
+    public String next() {
+        if (!hasNext()) {
+            throw new IllegalStateException("All events have been generated.");
+        }
+
+        if (silenceUntilMillis >= 0) {
+            long keepAliveMillis = clockMillis + settings.keepAliveIntervalMillis;
+            if (keepAliveMillis < silenceUntilMillis) {
+                clockMillis = keepAliveMillis;
+                lineDueMillis = clockMillis;
+                return "";
+            }
+            clockMillis = silenceUntilMillis;
+            silenceUntilMillis = -1;
+        } else if (burstLeft > 0) {
+            burstLeft--;
+        } else if (random.nextDouble() < settings.silenceProbability) {
+            silenceUntilMillis = clockMillis + settings.silenceMillis;
+            return next();
+        } else {
+            if (random.nextDouble() < settings.burstProbability) {
+                burstLeft = settings.burstSize - 1;
+            }
+            clockMillis += Math.round(-Math.log(1 - random.nextDouble()) * 1_000 / settings.eventsPerSecond);
+        }
+
+        lineDueMillis = clockMillis;
+        eventsLeft--;
+        return event();
+    }
+
+    /**
+     * @return long - arrival of the last generated line, in milliseconds since the start of the traffic.
+     */
+    public long lineDueMillis() {
+        return lineDueMillis;
+    }
+
+    /**
+     * This function writes all remaining lines to the given sink as fast as possible, ignoring their schedule.
+     *
+     * @param sink Output stream; left open.
+     * @throws IOException
+     */
+    public void writeTo(final OutputStream sink) throws IOException {
+        while (hasNext()) {
+            sink.write(next().getBytes(StandardCharsets.UTF_8));
+            sink.write('\n');
+        }
+    }
+
+    private String event() {
+        int picker = pickPicker();
+        int article = random.nextInt(settings.articleCount);
+        long timestamp = START_MILLIS + clockMillis;
+        if (random.nextDouble() < settings.outOfOrderRate) {
+            timestamp -= 1 + (long) (random.nextDouble() * settings.maxLatenessMillis);
+        }
+
+        line.setLength(0);
+        return line.append("{\"id\":\"").append(nextEventId++)
+                .append("\",\"timestamp\":\"").append(IsoTimestamps.format(timestamp))
+                .append("\",\"picker\":{\"id\":\"picker-").append(picker)
+                .append("\",\"name\":\"Picker ").append(picker)
+                .append("\",\"active_since\":\"").append(IsoTimestamps.format(START_MILLIS - picker * 60_000L))
+                .append("\"},\"article\":{\"id\":\"article-").append(article)
+                .append("\",\"name\":\"Article ").append(article)
+                .append("\",\"temperature_zone\":\"").append(chilledArticles[article] ? "chilled" : "ambient")
+                .append("\"},\"quantity\":").append(1 + random.nextInt(5))
+                .append('}')
+                .toString();
+    }
+
+    private int pickPicker() {
+        int index = Arrays.binarySearch(pickerCumulativeWeights, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, pickerCumulativeWeights.length - 1);
+    }
+
+    /**
+     * @return double[] - cumulative, normalized weights where picker i has weight 1 / (i + 1)^skew.
+     */
+    private static double[] zipfCumulativeWeights(final int count, final double skew) {
+        double[] cumulative = new double[count];
+        double total = 0;
+        for (int i = 0; i < count; i++) {
+            total += 1 / Math.pow(i + 1, skew);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < count; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    /**
+     * Immutable settings of the generator. Every {@code with} method returns a copy with one setting changed.
+     */
+    public static final class Settings implements Cloneable {
+        private long seed = 42;
+        private long eventCount = 1_000;
+        private int pickerCount = 100;
+        private int articleCount = 1_000;
+        private double pickerSkew = 1;
+        private double chilledRatio = 0.3;
+        private double outOfOrderRate = 0.05;
+        private long maxLatenessMillis = 60_000;
+        private double eventsPerSecond = 1_000;
+        private double burstProbability = 0.01;
+        private int burstSize = 100;
+        private double silenceProbability = 0.001;
+        private long silenceMillis = 5_000;
+        private long keepAliveIntervalMillis = 1_000;
+
+        private Settings() {
+        }
+
+        public static Settings defaults() {
+            return new Settings();
+        }
+
+        public Settings withSeed(final long seed) {
+            Settings copy = copy();
+            copy.seed = seed;
+            return copy;
+        }
+
+        public Settings withEventCount(final long eventCount) {
+            Settings copy = copy();
+            copy.eventCount = requireNonNegative(eventCount, "Event count");
+            return copy;
+        }
+
+        public Settings withPickerCount(final int pickerCount) {
+            Settings copy = copy();
+            copy.pickerCount = (int) requirePositive(pickerCount, "Picker count");
+            return copy;
+        }
+
+        public Settings withArticleCount(final int articleCount) {
+            Settings copy = copy();
+            copy.articleCount = (int) requirePositive(articleCount, "Article count");
+            return copy;
+        }
+
+        /**
+         * @param pickerSkew Zipf exponent of picker activity; 0 makes all pickers equally active.
+         */
+        public Settings withPickerSkew(final double pickerSkew) {
+            Settings copy = copy();
+            copy.pickerSkew = requireNonNegative(pickerSkew, "Picker skew");
+            return copy;
+        }
+
+        public Settings withChilledRatio(final double chilledRatio) {
+            Settings copy = copy();
+            copy.chilledRatio = requireProbability(chilledRatio, "Chilled ratio");
+            return copy;
+        }
+
+        /**
+         * @param outOfOrderRate    Share of events timestamped before their arrival.
+         * @param maxLatenessMillis Maximum difference between the arrival and timestamp of such events.
+         */
+        public Settings withOutOfOrder(final double outOfOrderRate, final long maxLatenessMillis) {
+            Settings copy = copy();
+            copy.outOfOrderRate = requireProbability(outOfOrderRate, "Out-of-order rate");
+            copy.maxLatenessMillis = requireNonNegative(maxLatenessMillis, "Maximum lateness");
+            return copy;
+        }
+
+        public Settings withEventsPerSecond(final double eventsPerSecond) {
+            Settings copy = copy();
+            copy.eventsPerSecond = requirePositive(eventsPerSecond, "Event rate");
+            return copy;
+        }
+
+        /**
+         * @param burstProbability Probability of a burst starting at an event.
+         * @param burstSize        Number of back-to-back events in a burst.
+         */
+        public Settings withBursts(final double burstProbability, final int burstSize) {
+            Settings copy = copy();
+            copy.burstProbability = requireProbability(burstProbability, "Burst probability");
+            copy.burstSize = (int) requirePositive(burstSize, "Burst size");
+            return copy;
+        }
+
+        /**
+         * @param silenceProbability      Probability of a silence starting before an event.
+         * @param silenceMillis           Duration of a silence.
+         * @param keepAliveIntervalMillis Time between two keep-alive lines during a silence.
+         */
+        public Settings withSilences(final double silenceProbability,
+                                     final long silenceMillis,
+                                     final long keepAliveIntervalMillis) {
+            Settings copy = copy();
+            copy.silenceProbability = requireProbability(silenceProbability, "Silence probability");
+            copy.silenceMillis = requireNonNegative(silenceMillis, "Silence duration");
+            copy.keepAliveIntervalMillis = (long) requirePositive(keepAliveIntervalMillis, "Keep-alive interval");
+            return copy;
+        }
+
+        private Settings copy() {
+            try {
+                return (Settings) clone();
+            } catch (CloneNotSupportedException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        private static double requireProbability(final double value, final String name) {
+            if (!(value >= 0 && value <= 1)) {
+                throw new IllegalArgumentException(name + " should be between 0 and 1.");
+            }
+            return value;
+        }
+
+        private static double requirePositive(final double value, final String name) {
+            if (!(value > 0)) {
+                throw new IllegalArgumentException(name + " should be positive.");
+            }
+            return value;
+        }
+
+        private static long requireNonNegative(final long value, final String name) {
+            if (value < 0) {
+                throw new IllegalArgumentException(name + " should not be negative.");
+            }
+            return value;
+        }
+
+        private static double requireNonNegative(final double value, final String name) {
+            if (!(value >= 0)) {
+                throw new IllegalArgumentException(name + " should not be negative.");
+            }
+            return value;
+        }
+    }
+}
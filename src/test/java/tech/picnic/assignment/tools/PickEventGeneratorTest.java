@@ -0,0 +1,77 @@
+package tech.picnic.assignment.tools;
+
+import org.junit.jupiter.api.Test;
+import tech.picnic.assignment.api.EventProcessorFactory;
+import tech.picnic.assignment.api.StreamProcessor;
+import tech.picnic.assignment.impl.PickingEventProcessorFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class PickEventGeneratorTest {
+
+    @Test
+    void sameSeedGeneratesSameTraffic() throws IOException {
+        PickEventGenerator.Settings settings = PickEventGenerator.Settings.defaults().withEventCount(2_000);
+
+        assertEquals(generate(settings), generate(settings));
+        assertNotEquals(generate(settings), generate(settings.withSeed(7)));
+    }
+
+    @Test
+    void generatesRequestedEventsWithKeepAlivesDuringSilences() throws IOException {
+        String traffic = generate(PickEventGenerator.Settings.defaults()
+                .withEventCount(500)
+                .withSilences(0.02, 3_000, 1_000));
+
+        long events = traffic.lines().filter(line -> !line.isEmpty()).count();
+        long keepAlives = traffic.lines().filter(String::isEmpty).count();
+        assertEquals(500, events);
+        assertTrue(keepAlives > 0, "Silences should be filled with keep-alive lines");
+    }
+
+    @Test
+    void replayFollowsTheVirtualClock() throws IOException {
+        PickEventGenerator generator = new PickEventGenerator(PickEventGenerator.Settings.defaults()
+                .withEventCount(100)
+                .withEventsPerSecond(1_000)
+                .withBursts(0, 1)
+                .withSilences(0, 0, 1));
+
+        long start = System.nanoTime();
+        try (InputStream replay = new ReplayInputStream(generator, 1)) {
+            assertTrue(replay.readAllBytes().length > 0);
+        }
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(elapsedMillis >= generator.lineDueMillis() - 1,
+                "Replay took " + elapsedMillis + "ms for traffic of " + generator.lineDueMillis() + "ms");
+    }
+
+    @Test
+    void replayedTrafficCanBeProcessed() throws IOException {
+        PickEventGenerator generator = new PickEventGenerator(PickEventGenerator.Settings.defaults()
+                .withEventCount(1_000)
+                .withPickerCount(3));
+
+        try (EventProcessorFactory factory = new PickingEventProcessorFactory();
+             StreamProcessor processor = factory.createProcessor(1_000, Duration.ofSeconds(30));
+             ByteArrayOutputStream sink = new ByteArrayOutputStream()) {
+            processor.process(new ReplayInputStream(generator, 100), sink);
+
+            String result = new String(sink.toByteArray(), StandardCharsets.UTF_8);
+            assertTrue(result.startsWith("[{\"picker_name\":\"Picker 2\""), result);
+        }
+    }
+
+    private static String generate(final PickEventGenerator.Settings settings) throws IOException {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        new PickEventGenerator(settings).writeTo(sink);
+        return new String(sink.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,96 @@
+package tech.picnic.assignment.tools;
+
+import tech.picnic.assignment.api.StdioStreamApplication;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line entry point of the traffic generator, e.g. through
+ * {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=tech.picnic.assignment.tools.PickTrafficTool}.
+ *
+ * <p>Options, all optional, are given as {@code --name=value}:
+ * <ul>
+ *     <li>{@code seed}, {@code events}, {@code pickers}, {@code articles}, {@code skew}, {@code chilled},
+ *     {@code out-of-order}, {@code max-lateness-ms}, {@code rate}, {@code burst-probability}, {@code burst-size},
+ *     {@code silence-probability}, {@code silence-ms}, {@code keep-alive-ms}: settings of
+ *     {@link PickEventGenerator}.</li>
+ *     <li>{@code output}: file to write the traffic to at once; stdout if absent.</li>
+ *     <li>{@code replay}: speed-up factor to replay the traffic in real time rather than write it at once.</li>
+ *     <li>{@code process}: {@code <maxEvents>,<maxTime>} to feed the traffic to {@link StdioStreamApplication} in
+ *     this JVM, which then writes its result to stdout.</li>
+ * </ul>
+ */
+public final class PickTrafficTool {
+
+    private PickTrafficTool() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        PickEventGenerator generator = new PickEventGenerator(settingsOf(options));
+
+        if (options.containsKey("process")) {
+            String[] limits = options.get("process").split(",", 2);
+            System.setIn(streamOf(generator, options));
+            StdioStreamApplication.main(limits);
+            return;
+        }
+
+        try (OutputStream sink = new BufferedOutputStream(options.containsKey("output")
+                ? Files.newOutputStream(Paths.get(options.get("output")))
+                : System.out)) {
+            if (options.containsKey("replay")) {
+                try (InputStream replay = streamOf(generator, options)) {
+                    byte[] buffer = new byte[8 * 1024];
+                    for (int read; (read = replay.read(buffer)) >= 0; ) {
+                        sink.write(buffer, 0, read);
+                        sink.flush();
+                    }
+                }
+            } else {
+                generator.writeTo(sink);
+            }
+        }
+    }
+
+    private static InputStream streamOf(final PickEventGenerator generator, final Map<String, String> options) {
+        return new ReplayInputStream(generator, Double.parseDouble(options.getOrDefault("replay", "1")));
+    }
+
+    private static PickEventGenerator.Settings settingsOf(final Map<String, String> options) {
+        return PickEventGenerator.Settings.defaults()
+                .withSeed(Long.parseLong(options.getOrDefault("seed", "42")))
+                .withEventCount(Long.parseLong(options.getOrDefault("events", "1000")))
+                .withPickerCount(Integer.parseInt(options.getOrDefault("pickers", "100")))
+                .withArticleCount(Integer.parseInt(options.getOrDefault("articles", "1000")))
+                .withPickerSkew(Double.parseDouble(options.getOrDefault("skew", "1")))
+                .withChilledRatio(Double.parseDouble(options.getOrDefault("chilled", "0.3")))
+                .withOutOfOrder(Double.parseDouble(options.getOrDefault("out-of-order", "0.05")),
+                        Long.parseLong(options.getOrDefault("max-lateness-ms", "60000")))
+                .withEventsPerSecond(Double.parseDouble(options.getOrDefault("rate", "1000")))
+                .withBursts(Double.parseDouble(options.getOrDefault("burst-probability", "0.01")),
+                        Integer.parseInt(options.getOrDefault("burst-size", "100")))
+                .withSilences(Double.parseDouble(options.getOrDefault("silence-probability", "0.001")),
+                        Long.parseLong(options.getOrDefault("silence-ms", "5000")),
+                        Long.parseLong(options.getOrDefault("keep-alive-ms", "1000")));
+    }
+
+    private static Map<String, String> parseOptions(final String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Options should be given as --name=value: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,104 @@
+package tech.picnic.assignment.tools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Input stream replaying generated traffic in real time: every line becomes readable only once its arrival on the
+ * generator's virtual clock has passed, measured from the first read. Reads block in between, as on a live socket.
+ */
+public final class ReplayInputStream extends InputStream {
+
+    private final PickEventGenerator generator;
+    private final double speedUp;
+    private long startNanos = -1;
+    private byte[] line = new byte[0];
+    private int position;
+    private String nextLine;
+    private long nextDueMillis;
+
+    /**
+     * @param generator Generator of the traffic to replay.
+     * @param speedUp   Factor by which to speed up the virtual clock; 1 replays at the generated rate.
+     */
+    public ReplayInputStream(final PickEventGenerator generator, final double speedUp) {
+        if (!(speedUp > 0)) {
+            throw new IllegalArgumentException("Speed-up should be positive.");
+        }
+        this.generator = generator;
+        this.speedUp = speedUp;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (position == line.length && !takeLine(true)) {
+            return -1;
+        }
+
+        int read = 0;
+        do {
+            int count = Math.min(length - read, line.length - position);
+            System.arraycopy(line, position, buffer, offset + read, count);
+            position += count;
+            read += count;
+        } while (read < length && position == line.length && takeLine(false));
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return line.length - position;
+    }
+
+    /**
+     * Makes the next line readable, waiting for it to arrive if requested.
+     *
+     * @param wait Whether to wait for the next line, rather than only take it if it has already arrived.
+     * @return boolean - whether a line was taken; {@code false} once all lines have been replayed.
+     */
+    private boolean takeLine(final boolean wait) throws IOException {
+        if (startNanos < 0) {
+            startNanos = System.nanoTime();
+            lookAhead();
+        }
+        if (Objects.isNull(nextLine)) {
+            return false;
+        }
+
+        long waitNanos = startNanos + (long) (TimeUnit.MILLISECONDS.toNanos(nextDueMillis) / speedUp)
+                - System.nanoTime();
+        if (waitNanos > 0) {
+            if (!wait) {
+                return false;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while replaying");
+            }
+        }
+        line = (nextLine + '\n').getBytes(StandardCharsets.UTF_8);
+        position = 0;
+        lookAhead();
+        return true;
+    }
+
+    private void lookAhead() {
+        nextLine = generator.hasNext() ? generator.next() : null;
+        nextDueMillis = generator.lineDueMillis();
+    }
+}
@@ -0,0 +1,77 @@
+package tech.picnic.assignment.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.picnic.assignment.models.TemperatureZone;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class AppConfigWatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void usesBundledConfigurationWithoutExternalFile() throws IOException {
+        AppConfigWatcher watcher = new AppConfigWatcher(Optional.empty());
+
+        AppConfig config = watcher.current();
+        assertEquals(EnumSet.of(TemperatureZone.CHILLED), config.getExcludedTemperatureZones());
+        assertSame(config, watcher.current());
+    }
+
+    @Test
+    void reloadsOnlyWhenExternalFileChanges() throws IOException {
+        Path file = tempDir.resolve("config.properties");
+        AppConfigWatcher watcher = new AppConfigWatcher(Optional.of(file), Duration.ZERO);
+        AppConfig bundled = watcher.current();
+
+        write(file, "temperature_zone_excluded=ambient, chilled\noutput_flush_interval=10", 1_000);
+        AppConfig reloaded = watcher.current();
+        assertEquals(EnumSet.allOf(TemperatureZone.class), reloaded.getExcludedTemperatureZones());
+        assertEquals(10, reloaded.getOutputFlushInterval());
+        assertEquals(bundled.getOutputBufferSize(), reloaded.getOutputBufferSize());
+        assertSame(reloaded, watcher.current());
+
+        write(file, "temperature_zone_excluded=", 2_000);
+        assertTrue(watcher.current().getExcludedTemperatureZones().isEmpty());
+
+        Files.delete(file);
+        assertEquals(bundled.getExcludedTemperatureZones(), watcher.current().getExcludedTemperatureZones());
+    }
+
+    @Test
+    void checksExternalFileAtMostOncePerInterval() throws IOException {
+        Path file = tempDir.resolve("config.properties");
+        write(file, "output_flush_interval=10", 1_000);
+        AppConfigWatcher watcher = new AppConfigWatcher(Optional.of(file), Duration.ofHours(1));
+        assertEquals(10, watcher.current().getOutputFlushInterval(), "The first call should read the file");
+
+        write(file, "output_flush_interval=20", 2_000);
+        assertEquals(10, watcher.current().getOutputFlushInterval(), "Changes should wait for the next check");
+    }
+
+    @Test
+    void ignoresInvalidValues() throws IOException {
+        Path file = tempDir.resolve("config.properties");
+        write(file, "temperature_zone_excluded=frozen\noutput_buffer_size=-1", 1_000);
+
+        AppConfig config = new AppConfigWatcher(Optional.of(file)).current();
+        assertTrue(config.getExcludedTemperatureZones().isEmpty());
+        assertTrue(config.getOutputBufferSize() > 0);
+    }
+
+    private static void write(final Path file, final String content, final long lastModifiedMillis)
+            throws IOException {
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModifiedMillis));
+    }
+}
@@ -0,0 +1,52 @@
+package tech.picnic.assignment.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class IsoTimestampsTest {
+
+    @Test
+    void agreesWithJavaTimeOnFixedShape() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            Instant instant = Instant.ofEpochSecond(random.nextInt(Integer.MAX_VALUE) * 4L - 4_000_000_000L);
+            String text = instant.toString();
+
+            assertEquals(text, IsoTimestamps.format(instant.toEpochMilli()));
+            assertEquals(instant.toEpochMilli(), IsoTimestamps.parse(text));
+        }
+    }
+
+    @Test
+    void formatsLeapDaysAndTruncatesToSeconds() {
+        assertEquals("2020-02-29T23:59:59Z", IsoTimestamps.format(Instant.parse("2020-02-29T23:59:59.999Z").toEpochMilli()));
+        assertEquals("1969-12-31T23:59:59Z", IsoTimestamps.format(-1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2018-12-20T11:50:48.250Z", "2018-12-20T12:50:48.250+01:00", "2018-12-20T11:50:48.250"})
+    void fallsBackToGenericIsoParsing(final String text) {
+        assertEquals(Instant.parse("2018-12-20T11:50:48.250Z").toEpochMilli(), IsoTimestamps.parse(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2018-02-30T11:50:48Z", "2018-12-20T24:50:48Z", "2018-12-20 11:50:48Z", "yesterday"})
+    void rejectsInvalidDateTimes(final String text) {
+        assertThrows(DateTimeException.class, () -> IsoTimestamps.parse(text));
+    }
+
+    @Test
+    void servesRepeatedSecondsFromCache() {
+        long millis = Instant.parse("2018-12-20T11:50:48Z").plus(300, ChronoUnit.MILLIS).toEpochMilli();
+
+        assertSame(IsoTimestamps.format(millis), IsoTimestamps.format(millis + 100));
+    }
+}